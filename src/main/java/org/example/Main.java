@@ -1,18 +1,49 @@
 package org.example;
 
+import org.example.controllers.BatchCommandRunner;
 import org.example.controllers.ShortLinkController;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
 /**
  * The entry point of the application.
  * <p>
  * This class initializes and runs the {@link ShortLinkController}, which handles
  * user interactions and application operations.
  * </p>
+ * <p>
+ * When started with {@code --batch [file]}, commands are read from the file (or from standard
+ * input if no file or {@code -} is given) and executed by a {@link BatchCommandRunner} instead.
+ * {@code --parallelism N} sets the number of threads used for link commands.
+ * </p>
+ * <p>
+ * In interactive mode the controller is warmed up before the first command is read. Batch runs
+ * skip the warm-up unless {@code --warmup} is given, since it would otherwise add its whole time
+ * budget to every script; its report then goes to standard error so it does not mix with the
+ * batch output.
+ * </p>
  *
  * @author alvar91
  * @version 1.0
  */
 public class Main {
+
+    /**
+     * Size of the batch mode input and output buffers in characters.
+     */
+    private static final int BATCH_BUFFER_SIZE = 64 * 1024;
+
     /**
      * The main method, serving as the application entry point.
      *
@@ -21,8 +52,86 @@ public class Main {
     public static void main(String[] args) {
         // Create an instance of the ShortLinkController
         ShortLinkController shortLinkController = new ShortLinkController();
+        boolean batch = args.length > 0 && args[0].equals("--batch");
+
+        // Only start reading commands once the hot paths are compiled or the warm-up budget is spent
+        if (!batch || Arrays.asList(args).contains("--warmup")) {
+            (batch ? System.err : System.out).print(shortLinkController.warmUp().format());
+        }
+
+        if (batch) {
+            // Exit only after the controller is closed, so its state is saved even if the run failed
+            int exitCode = runBatch(shortLinkController, args);
+            if (exitCode != 0) {
+                System.exit(exitCode);
+            }
+            return;
+        }
 
         // Run the controller, which will handle user input and operations
         shortLinkController.run();
     }
+
+    /**
+     * Usage of the batch mode, printed when its arguments are invalid.
+     */
+    private static final String BATCH_USAGE = "Usage: --batch [--parallelism N] [--warmup] [file | -]";
+
+    /**
+     * Runs the controller in batch mode and closes it.
+     *
+     * @param shortLinkController The controller executing the commands.
+     * @param args                Command-line arguments, starting with {@code --batch}.
+     * @return The process exit code: {@code 0} on success, {@code 1} if the run failed and
+     *         {@code 2} if the arguments are invalid.
+     */
+    private static int runBatch(ShortLinkController shortLinkController, String[] args) {
+        try {
+            String script = "-";
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals("--parallelism")) {
+                    parallelism = i + 1 < args.length ? parsePositive(args[++i]) : -1;
+                    if (parallelism <= 0) {
+                        System.err.println("--parallelism requires a positive integer");
+                        System.err.println(BATCH_USAGE);
+                        return 2;
+                    }
+                } else if (args[i].equals("--warmup")) {
+                    // Handled before the batch starts
+                } else {
+                    script = args[i];
+                }
+            }
+
+            Writer output = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BATCH_BUFFER_SIZE);
+            try (BufferedReader input = script.equals("-")
+                    ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BATCH_BUFFER_SIZE)
+                    : Files.newBufferedReader(Path.of(script), StandardCharsets.UTF_8)) {
+                new BatchCommandRunner(shortLinkController, parallelism).run(input, output);
+                return 0;
+            } catch (IOException e) {
+                System.err.println("Batch run failed: " + e.getMessage());
+                return 1;
+            }
+        } finally {
+            shortLinkController.close();
+        }
+    }
+
+    /**
+     * Parses a positive integer argument.
+     *
+     * @param value The argument to parse.
+     * @return The parsed value, or {@code -1} if it is not a positive integer.
+     */
+    private static int parsePositive(String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            return parsed > 0 ? parsed : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 }
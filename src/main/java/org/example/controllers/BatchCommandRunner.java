@@ -0,0 +1,257 @@
+package org.example.controllers;
+
+import org.example.utils.CommandTokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Non-interactive runner executing a script of commands through a {@link ShortLinkController}.
+ * <p>
+ * Commands are read through a buffered reader, tokenized without regular expressions, and their
+ * output is collected in memory and written in input order. Runs of link commands ({@code short},
+ * {@code open}, {@code edit_clicks_limit}, {@code remove}) are executed in parallel: each one is
+ * bound to the user logged in when it was read, and commands on the same shortened URL keep their
+ * relative order by running in the same task. Consecutive {@code short} commands run in parallel, but
+ * a link command following them waits until they have finished, so a script may open or edit a code
+ * it created earlier (codes are predictable when they are leased). Every other command ({@code register}, {@code login},
+ * {@code clear}, ...) is a barrier that waits for the preceding link commands and runs alone.
+ * Opened links are printed rather than shown in a browser.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * register
+ * short https://example.com 10 2
+ * open http://clck.ru/AbC123
+ * clear
+ * }</pre>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class BatchCommandRunner {
+
+    /**
+     * Maximum number of link commands buffered before they are executed.
+     */
+    private static final int MAX_SEGMENT_SIZE = 4096;
+
+    /**
+     * The controller executing the commands.
+     */
+    private final ShortLinkController controller;
+
+    /**
+     * The number of threads link commands run on.
+     */
+    private final int parallelism;
+
+    /**
+     * Executed and failed command counts by command name.
+     */
+    private final Map<String, long[]> perAction = new TreeMap<>();
+
+    /**
+     * Constructs a new {@code BatchCommandRunner}.
+     *
+     * @param controller  The controller executing the commands.
+     * @param parallelism The number of threads link commands run on; must be positive.
+     */
+    public BatchCommandRunner(ShortLinkController controller, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        this.controller = controller;
+        this.parallelism = parallelism;
+        controller.browserEnabled = false;
+    }
+
+    /**
+     * Executes every command read from {@code input} until end of input or an {@code exit} command.
+     *
+     * @param input  The script to execute, one command per line.
+     * @param output The destination for command output; it is flushed but not closed.
+     * @return The summary of the run.
+     * @throws IOException If reading the script or writing the output fails.
+     */
+    public BatchSummary run(BufferedReader input, Writer output) throws IOException {
+        long startNanos = System.nanoTime();
+        perAction.clear();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Command> segment = new ArrayList<>();
+            boolean segmentCreates = false;
+            StringBuilder out = new StringBuilder();
+
+            String line;
+            while ((line = input.readLine()) != null) {
+                String[] chunks = CommandTokenizer.tokenize(line);
+                if (chunks.length == 0) {
+                    continue;
+                }
+
+                String action = chunks[0].toLowerCase();
+                if (action.equals("exit")) {
+                    break;
+                }
+
+                if (ShortLinkController.isLinkCommand(action)) {
+                    boolean create = action.equals("short");
+                    // The command may refer to a code created by the buffered creates
+                    if (segmentCreates && !create) {
+                        runSegment(segment, pool, output);
+                    }
+                    segmentCreates = create;
+
+                    segment.add(new Command(action, chunks, controller.getUserId()));
+                    if (segment.size() >= MAX_SEGMENT_SIZE) {
+                        runSegment(segment, pool, output);
+                        segmentCreates = false;
+                    }
+                    continue;
+                }
+
+                runSegment(segment, pool, output);
+                segmentCreates = false;
+
+                boolean succeeded = controller.execute(chunks, out);
+                count(action, succeeded);
+                output.append(out);
+                out.setLength(0);
+            }
+
+            runSegment(segment, pool, output);
+        } finally {
+            pool.shutdown();
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        long commands = 0;
+        long failed = 0;
+        for (long[] counts : perAction.values()) {
+            commands += counts[0];
+            failed += counts[1];
+        }
+
+        BatchSummary summary = new BatchSummary(commands, failed, elapsedMillis, new TreeMap<>(perAction));
+        output.append(summary.format());
+        output.flush();
+        return summary;
+    }
+
+    /**
+     * Executes buffered link commands in parallel, writes their output in order and clears the buffer.
+     *
+     * @param segment The buffered link commands.
+     * @param pool    The pool the commands run on.
+     * @param output  The destination for command output.
+     * @throws IOException If writing the output fails.
+     */
+    private void runSegment(List<Command> segment, ForkJoinPool pool, Writer output) throws IOException {
+        if (segment.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Command>> byLink = new LinkedHashMap<>();
+        for (int i = 0; i < segment.size(); i++) {
+            Command command = segment.get(i);
+            String key = command.action.equals("short") || command.chunks.length < 2
+                    ? "#" + i
+                    : command.chunks[1];
+            byLink.computeIfAbsent(key, k -> new ArrayList<>()).add(command);
+        }
+
+        List<List<Command>> groups = new ArrayList<>(byLink.values());
+        if (groups.size() == 1) {
+            groups.get(0).forEach(this::execute);
+        } else {
+            pool.submit(() -> groups.parallelStream().forEach(group -> group.forEach(this::execute))).join();
+        }
+
+        for (Command command : segment) {
+            count(command.action, command.succeeded);
+            output.append(command.output);
+        }
+        segment.clear();
+    }
+
+    /**
+     * Executes a single link command, capturing its output.
+     *
+     * @param command The command to execute.
+     */
+    private void execute(Command command) {
+        StringBuilder out = new StringBuilder();
+        command.succeeded = controller.executeLinkCommand(command.user, command.chunks, out);
+        command.output = out;
+    }
+
+    /**
+     * Counts an executed command.
+     *
+     * @param action    The lower-case command name.
+     * @param succeeded Whether the command succeeded.
+     */
+    private void count(String action, boolean succeeded) {
+        long[] counts = perAction.computeIfAbsent(action, k -> new long[2]);
+        counts[0]++;
+        if (!succeeded) {
+            counts[1]++;
+        }
+    }
+
+    /**
+     * A buffered link command and, once executed, its result.
+     */
+    private static final class Command {
+
+        /**
+         * The lower-case command name.
+         */
+        private final String action;
+
+        /**
+         * The command split into parts.
+         */
+        private final String[] chunks;
+
+        /**
+         * The user logged in when the command was read.
+         */
+        private final UUID user;
+
+        /**
+         * The output produced by the command.
+         */
+        private CharSequence output;
+
+        /**
+         * Whether the command succeeded.
+         */
+        private boolean succeeded;
+
+        /**
+         * Constructs a new buffered command.
+         *
+         * @param action The lower-case command name.
+         * @param chunks The command split into parts.
+         * @param user   The user logged in when the command was read.
+         */
+        private Command(String action, String[] chunks, UUID user) {
+            this.action = action;
+            this.chunks = chunks;
+            this.user = user;
+        }
+    }
+}
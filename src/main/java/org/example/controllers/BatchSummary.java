@@ -0,0 +1,33 @@
+package org.example.controllers;
+
+import java.util.Map;
+
+/**
+ * Totals reported at the end of a batch run.
+ *
+ * @param commands      The number of commands executed.
+ * @param failed        The number of commands that did not succeed.
+ * @param elapsedMillis The wall-clock duration of the run in milliseconds.
+ * @param perAction     Executed and failed command counts by command name, as {@code [executed, failed]}.
+ * @author alvar91
+ * @version 1.0
+ */
+public record BatchSummary(long commands, long failed, long elapsedMillis, Map<String, long[]> perAction) {
+
+    /**
+     * Formats the summary as printable text.
+     *
+     * @return A multi-line summary.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        double seconds = Math.max(elapsedMillis, 1) / 1000.0;
+        out.append(String.format("Batch completed: %d commands (%d succeeded, %d failed) in %d ms, %.0f commands/s%n",
+                commands, commands - failed, failed, elapsedMillis, commands / seconds));
+        for (Map.Entry<String, long[]> entry : perAction.entrySet()) {
+            out.append(String.format("  %s: %d (%d failed)%n",
+                    entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+        }
+        return out.toString();
+    }
+}
@@ -1,12 +1,36 @@
 package org.example.controllers;
 
+import org.example.logging.ConsoleEventSink;
+import org.example.logging.EventLog;
+import org.example.logging.NullEventSink;
+import org.example.logging.RollingFileEventSink;
+import org.example.models.HotLink;
+import org.example.models.LinkOutcome;
+import org.example.models.LinkResult;
 import org.example.models.ShortLink;
 import org.example.repositories.LinksRepository;
 import org.example.repositories.UsersRepository;
+import org.example.services.AdaptiveConcurrencyLimiter;
+import org.example.services.AdmissionController;
+import org.example.services.CachedClockService;
+import org.example.services.ClockService;
+import org.example.services.CodeGenerator;
 import org.example.services.ConfigService;
+import org.example.services.ExpirySweeper;
+import org.example.services.LinkEvictor;
 import org.example.services.LinkService;
+import org.example.services.OverloadedException;
+import org.example.services.RangeLeaseCodeGenerator;
 import org.example.services.UserService;
-
+import org.example.services.WarmupReport;
+import org.example.services.WarmupService;
+import org.example.utils.CommandTokenizer;
+
+import java.awt.*;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
 import java.util.UUID;
 
@@ -16,6 +40,10 @@ import java.util.UUID;
  * This class handles user commands, interacts with the services and repositories,
  * and provides the main loop for the application's operation.
  * </p>
+ * <p>
+ * Command handlers write their messages into a buffer rather than straight to the console,
+ * so the same handlers serve both the interactive loop and {@link BatchCommandRunner}.
+ * </p>
  *
  * @author alvar91
  * @version 1.0
@@ -32,6 +60,11 @@ public class ShortLinkController {
      */
     Scanner scanner = new Scanner(System.in);
 
+    /**
+     * Whether opened links are shown in the system browser; when {@code false} they are printed.
+     */
+    boolean browserEnabled = true;
+
     // Repositories and services for managing users and links
 
     /**
@@ -49,85 +82,210 @@ public class ShortLinkController {
      */
     ConfigService configService = new ConfigService();
 
+    /**
+     * Coarse clock refreshed in the background, used for all expiry decisions.
+     */
+    CachedClockService clockService = new CachedClockService();
+
+    /**
+     * Asynchronous log of link events.
+     */
+    EventLog eventLog = createEventLog(configService, clockService);
+
     /**
      * Service for user management.
      */
     UserService userService = new UserService(usersRepository);
 
+    /**
+     * Source of the codes of new links, as configured.
+     */
+    CodeGenerator codeGenerator = createCodeGenerator(configService);
+
     /**
      * Service for link management.
      */
-    LinkService linkService = new LinkService(linksRepository, configService);
+    LinkService linkService = new LinkService(linksRepository, configService, eventLog, clockService, codeGenerator);
+
+    /**
+     * Background sweep removing expired links a slice at a time.
+     */
+    ExpirySweeper expirySweeper = new ExpirySweeper(linksRepository, linkService.getLinkEvictor(),
+            configService, eventLog, clockService);
+
+    /**
+     * Service warming the link paths up on startup and saving the access summary on shutdown.
+     */
+    WarmupService warmupService = new WarmupService(configService);
+
+    /**
+     * Creates the event log for the target configured in the {@link ConfigService}.
+     * <p>
+     * Falls back to standard output if the log file cannot be opened.
+     * </p>
+     *
+     * @param configService The configuration to read the event log settings from.
+     * @param clockService  The clock the events are stamped with.
+     * @return The configured {@link EventLog}.
+     */
+    private static EventLog createEventLog(ConfigService configService, ClockService clockService) {
+        switch (configService.getEventLogTarget().toLowerCase()) {
+            case "none":
+                return EventLog.discarding();
+            case "file":
+                try {
+                    long maxFileBytes = configService.getEventLogMaxFileMb() * 1024L * 1024L;
+                    return new EventLog(new RollingFileEventSink(Path.of(configService.getEventLogFile()),
+                            maxFileBytes, configService.getEventLogMaxFiles()), EventLog.DEFAULT_CAPACITY, clockService);
+                } catch (IOException e) {
+                    System.out.println("Failed to open the event log file, logging to the console: " + e.getMessage());
+                }
+                return new EventLog(new ConsoleEventSink(), EventLog.DEFAULT_CAPACITY, clockService);
+            default:
+                return new EventLog(new ConsoleEventSink(), EventLog.DEFAULT_CAPACITY, clockService);
+        }
+    }
+
+    /**
+     * Creates an event log of the same kind as {@link #createEventLog(ConfigService, ClockService)} that writes nowhere.
+     *
+     * @param configService The configuration to read the event log settings from.
+     * @param clockService  The clock the events are stamped with.
+     * @return A discarding {@link EventLog} if events are not logged, otherwise a live one over a {@link NullEventSink}.
+     */
+    private static EventLog createWarmupEventLog(ConfigService configService, ClockService clockService) {
+        return configService.getEventLogTarget().equalsIgnoreCase("none")
+                ? EventLog.discarding()
+                : new EventLog(new NullEventSink(), EventLog.DEFAULT_CAPACITY, clockService);
+    }
+
+    /**
+     * Creates a code generator of the same kind as {@link #createCodeGenerator(ConfigService)} whose
+     * codes may be thrown away.
+     *
+     * @param configService The configuration to read the code allocation settings from.
+     * @param codeGenerator The real code generator.
+     * @return The real generator if codes are random, otherwise one leasing from a temporary file, so
+     *         the warm-up does not use up leased codes.
+     */
+    private static CodeGenerator createWarmupCodeGenerator(ConfigService configService, CodeGenerator codeGenerator) {
+        return codeGenerator instanceof RangeLeaseCodeGenerator
+                ? RangeLeaseCodeGenerator.temporary(configService.getCodeLeaseSize())
+                : codeGenerator;
+    }
+
+    /**
+     * Creates the code generator for the allocation mode configured in the {@link ConfigService}.
+     *
+     * @param configService The configuration to read the code allocation settings from.
+     * @return Random codes, or codes from ranges leased through the configured lease file.
+     * @throws IllegalArgumentException If the allocation mode is neither {@code random} nor {@code lease}.
+     */
+    private static CodeGenerator createCodeGenerator(ConfigService configService) {
+        switch (configService.getCodeAllocation().toLowerCase()) {
+            case "random":
+                return CodeGenerator.RANDOM;
+            case "lease":
+                return new RangeLeaseCodeGenerator(Path.of(configService.getCodeLeaseFile()),
+                        configService.getCodeLeaseSize());
+            default:
+                throw new IllegalArgumentException("Unknown code allocation mode: " + configService.getCodeAllocation());
+        }
+    }
+
+    /**
+     * Appends a line of output to a buffer.
+     *
+     * @param out  The output buffer.
+     * @param line The line to append.
+     */
+    private static void println(StringBuilder out, String line) {
+        out.append(line).append(System.lineSeparator());
+    }
 
     /**
      * Displays the help menu with a list of available commands.
+     *
+     * @param out The output buffer.
      */
-    private void showHelpMenu() {
-        System.out.println("exit: exit the program");
-        System.out.println("register: create a new user");
-        System.out.println("login UUID: login with an existing user");
-        System.out.println("short url clicksLimit lifetimeHours: shorten a link");
-        System.out.println("open shortUrl: open a shortened link");
-        System.out.println("edit_clicks_limit shortUrl newLimit: change the redirect limit");
-        System.out.println("remove shortUrl: remove a link");
-        System.out.println("clear: remove expired links");
+    private void showHelpMenu(StringBuilder out) {
+        println(out, "exit: exit the program");
+        println(out, "register: create a new user");
+        println(out, "login UUID: login with an existing user");
+        println(out, "short url clicksLimit lifetimeHours: shorten a link");
+        println(out, "open shortUrl: open a shortened link");
+        println(out, "edit_clicks_limit shortUrl newLimit: change the redirect limit");
+        println(out, "remove shortUrl: remove a link");
+        println(out, "clear: remove expired links");
+        println(out, "hot: show the most frequently opened links");
+        println(out, "stats: show admission control limits, shed counts and dropped events");
     }
 
     /**
      * Registers a new user and logs them in.
+     *
+     * @param out The output buffer.
      */
-    private void showRegisterMenu() {
+    private void showRegisterMenu(StringBuilder out) {
         UUID newUserId = userService.createUserId();
         userId = newUserId;
 
-        System.out.println("A new user has been registered with UUID: " + newUserId);
-        System.out.println("You have logged in as a user: " + userId);
+        println(out, "A new user has been registered with UUID: " + newUserId);
+        println(out, "You have logged in as a user: " + userId);
     }
 
     /**
      * Logs in an existing user using their UUID.
      *
      * @param chunks Input split into command parts.
+     * @param out    The output buffer.
+     * @return {@code true} if the user has logged in.
      */
-    private void showLoginMenu(String[] chunks) {
+    private boolean showLoginMenu(String[] chunks, StringBuilder out) {
         if (chunks.length < 2) {
-            System.out.println("Usage: login UUID");
-            return;
+            println(out, "Usage: login UUID");
+            return false;
         }
 
         try {
             UUID loginUserId = UUID.fromString(chunks[1]);
             if (userService.isUserExist(loginUserId)) {
                 userId = loginUserId;
-                System.out.println("You have logged in as user:" + userId);
-                return;
+                println(out, "You have logged in as user:" + userId);
+                return true;
             }
 
-            System.out.println("A user with this UUID is not registered");
+            println(out, "A user with this UUID is not registered");
         } catch (IllegalArgumentException e) {
-            System.out.println("Invalid UUID");
+            println(out, "Invalid UUID");
         }
+        return false;
     }
 
     /**
      * Prints a message when no user is logged in.
+     *
+     * @param out The output buffer.
      */
-    private void printNoUserId() {
-        System.out.println("Please register or login");
+    private void printNoUserId(StringBuilder out) {
+        println(out, "Please register or login");
     }
 
     /**
      * Handles shortening a URL.
      *
+     * @param user   The user issuing the command.
      * @param chunks Input split into command parts.
+     * @param out    The output buffer.
+     * @return {@code true} if the link was created.
      */
-    private void showShortMenu(String[] chunks) {
-        if (userId == null) {
-            printNoUserId();
+    private boolean showShortMenu(UUID user, String[] chunks, StringBuilder out) {
+        if (user == null) {
+            printNoUserId(out);
         }
         if (chunks.length < 4) {
-            System.out.println("Incorrect input format: short url clicksLimit lifetimeHours");
-            return;
+            println(out, "Incorrect input format: short url clicksLimit lifetimeHours");
+            return false;
         }
 
         try {
@@ -135,10 +293,15 @@ public class ShortLinkController {
             int clicksLimit = Integer.parseInt(chunks[2]);
             int lifetimeHours = Integer.parseInt(chunks[3]);
 
-            ShortLink shortLink = linkService.createShortLink(userId, url, clicksLimit, lifetimeHours);
-            System.out.println("Shortened link: " + shortLink.getShortenedUrl());
+            ShortLink shortLink = linkService.createShortLink(user, url, clicksLimit, lifetimeHours);
+            println(out, "Shortened link: " + shortLink.getShortenedUrl());
+            return true;
         } catch (NumberFormatException e) {
-            System.out.println("Invalid number format for clicksLimit or lifetimeHours");
+            println(out, "Invalid number format for clicksLimit or lifetimeHours");
+            return false;
+        } catch (OverloadedException e) {
+            printOverloaded(e, out);
+            return false;
         }
     }
 
@@ -146,66 +309,351 @@ public class ShortLinkController {
      * Handles opening a shortened URL.
      *
      * @param chunks Input split into command parts.
+     * @param out    The output buffer.
+     * @return {@code true} if the link was opened.
      */
-    private void showOpenMenu(String[] chunks) {
+    private boolean showOpenMenu(String[] chunks, StringBuilder out) {
         if (chunks.length < 2) {
-            System.out.println("Incorrect input format: open shortUrl");
-            return;
+            println(out, "Incorrect input format: open shortUrl");
+            return false;
+        }
+
+        LinkResult result;
+        try {
+            result = linkService.openLink(chunks[1]);
+        } catch (OverloadedException e) {
+            printOverloaded(e, out);
+            return false;
         }
 
-        linkService.openLink(chunks[1]);
+        switch (result.outcome()) {
+            case NOT_FOUND:
+                println(out, "Link not found");
+                return false;
+            case EXPIRED:
+            case LIMIT_REACHED:
+            case DISABLED:
+                println(out, "The expiration date has passed, or the click limit has been reached");
+                println(out, "The link has been deleted because it is unavailable");
+                return false;
+            default:
+                break;
+        }
+
+        browse(result.link().getOriginalUrl(), out);
+
+        if (result.outcome() == LinkOutcome.OPENED_LAST_CLICK) {
+            println(out, "The click limit has been reached. The link has been disabled");
+            println(out, "The link has been deleted");
+        }
+        return true;
+    }
+
+    /**
+     * Opens a URL in the system browser, or prints it if no browser is available.
+     *
+     * @param url The URL to open.
+     * @param out The output buffer.
+     */
+    private void browse(String url, StringBuilder out) {
+        try {
+            if (browserEnabled && Desktop.isDesktopSupported()) {
+                Desktop.getDesktop().browse(URI.create(url));
+            } else {
+                println(out, "Open the link: " + url);
+            }
+        } catch (Exception e) {
+            println(out, "Failed to open the link in the browser: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints the message for a failed ownership-checked operation.
+     *
+     * @param outcome The outcome returned by the {@link LinkService}.
+     * @param out     The output buffer.
+     */
+    private void printOwnershipFailure(LinkOutcome outcome, StringBuilder out) {
+        if (outcome == LinkOutcome.NOT_FOUND) {
+            println(out, "The link was not found");
+        } else {
+            println(out, "You are not the owner of this link");
+        }
+    }
+
+    /**
+     * Prints the message for a request shed by admission control.
+     *
+     * @param e   The exception raised by the {@link LinkService}.
+     * @param out The output buffer.
+     */
+    private void printOverloaded(OverloadedException e, StringBuilder out) {
+        println(out, "503 Service Unavailable: " + e.getMessage() + ". Retry-After: " + e.getRetryAfterMillis() + " ms");
     }
 
     /**
      * Handles changing the click limit for a shortened URL.
      *
+     * @param user   The user issuing the command.
      * @param chunks Input split into command parts.
+     * @param out    The output buffer.
+     * @return {@code true} if the limit was changed.
      */
-    private void showEditClicksMenu(String[] chunks) {
-        if (userId == null) {
-            printNoUserId();
+    private boolean showEditClicksMenu(UUID user, String[] chunks, StringBuilder out) {
+        if (user == null) {
+            printNoUserId(out);
         }
 
         if (chunks.length < 3) {
-            System.out.println("Incorrect input format: editClicksLimit shortUrl newLimit");
-            return;
+            println(out, "Incorrect input format: editClicksLimit shortUrl newLimit");
+            return false;
         }
 
         try {
             String shortUrl = chunks[1];
             int newLimit = Integer.parseInt(chunks[2]);
 
-            linkService.editLimit(userId, shortUrl, newLimit);
+            LinkResult result = linkService.editLimit(user, shortUrl, newLimit);
+            if (result.outcome() == LinkOutcome.LIMIT_CHANGED) {
+                println(out, "The click limit has been changed to: " + result.link().getClickLimit());
+                return true;
+            }
+            printOwnershipFailure(result.outcome(), out);
         } catch (NumberFormatException e) {
-            System.out.println("Invalid number format for shortUrl or newLimit");
+            println(out, "Invalid number format for shortUrl or newLimit");
         }
+        return false;
     }
 
     /**
      * Handles removing a shortened URL.
      *
+     * @param user   The user issuing the command.
      * @param chunks Input split into command parts.
+     * @param out    The output buffer.
+     * @return {@code true} if the link was removed.
      */
-    private void showRemoveMenu(String[] chunks) {
-        if (userId == null) {
-            printNoUserId();
+    private boolean showRemoveMenu(UUID user, String[] chunks, StringBuilder out) {
+        if (user == null) {
+            printNoUserId(out);
         }
 
         if (chunks.length < 2) {
-            System.out.println("Incorrect input format: remove shortUrl");
-            return;
+            println(out, "Incorrect input format: remove shortUrl");
+            return false;
         }
 
         String shortUrl = chunks[1];
-        linkService.removeLink(userId, shortUrl);
+        LinkOutcome outcome = linkService.removeLink(user, shortUrl);
+        if (outcome == LinkOutcome.REMOVED) {
+            println(out, "The link has been deleted");
+            return true;
+        }
+        printOwnershipFailure(outcome, out);
+        return false;
     }
 
     /**
      * Handles clearing expired links.
+     *
+     * @param out The output buffer.
+     */
+    private void showClearMenu(StringBuilder out) {
+        int removed = linkService.removeExpiredLinks();
+        println(out, "Expired links have been removed: " + removed);
+    }
+
+    /**
+     * Displays the most frequently opened links with their estimated rates.
+     *
+     * @param out The output buffer.
+     */
+    private void showHotMenu(StringBuilder out) {
+        List<HotLink> hotLinks = linkService.getHotLinks();
+        if (hotLinks.isEmpty()) {
+            println(out, "No links have been opened recently");
+            return;
+        }
+
+        for (HotLink hotLink : hotLinks) {
+            println(out, String.format("%s ~%d hits (%.2f/s)",
+                    hotLink.shortUrl(), hotLink.estimatedHits(), hotLink.hitsPerSecond()));
+        }
+    }
+
+    /**
+     * Displays admission control limits, in-flight requests and shed counts, link store occupancy,
+     * background expiry sweep totals and the number of events the event log dropped.
+     *
+     * @param out The output buffer.
+     */
+    private void showStatsMenu(StringBuilder out) {
+        AdmissionController admissionController = linkService.getAdmissionController();
+        printLimiter("reads", admissionController.getReadLimiter(), out);
+        printLimiter("writes", admissionController.getWriteLimiter(), out);
+
+        LinkEvictor linkEvictor = linkService.getLinkEvictor();
+        println(out, "store: links=" + linksRepository.size() + "/" + formatBudget(linkEvictor.getMaxLinks())
+                + " memoryKb=" + linksRepository.getUsedBytes() / 1024
+                + "/" + formatBudget(linkEvictor.getMaxBytes() / 1024)
+                + " evicted=" + linkEvictor.getEvictedCount() + " rejected=" + linkEvictor.getRejectedCount());
+        println(out, "expiry sweep: slices=" + expirySweeper.getSliceCount()
+                + " reclaimed=" + expirySweeper.getReclaimedCount()
+                + " lastSliceMicros=" + expirySweeper.getLastSliceMicros()
+                + " maxSliceMicros=" + expirySweeper.getMaxSliceMicros());
+        println(out, "event log: dropped=" + eventLog.getDroppedCount());
+    }
+
+    /**
+     * Formats a store budget.
+     *
+     * @param budget The budget, or a value of at least {@link Long#MAX_VALUE} / 1024 if unlimited.
+     * @return The budget, or {@code unlimited}.
+     */
+    private static String formatBudget(long budget) {
+        return budget >= Long.MAX_VALUE / 1024 ? "unlimited" : String.valueOf(budget);
+    }
+
+    /**
+     * Prints the state of a single concurrency limiter.
+     *
+     * @param name    The name of the budget.
+     * @param limiter The limiter.
+     * @param out     The output buffer.
+     */
+    private void printLimiter(String name, AdaptiveConcurrencyLimiter limiter, StringBuilder out) {
+        println(out, name + ": limit=" + limiter.getLimit() + " inFlight=" + limiter.getInFlight()
+                + " latencyMicros=" + limiter.getSmoothedLatencyMicros() + " shed=" + limiter.getShedCount());
+    }
+
+    /**
+     * Checks whether a command depends only on the user that issued it, not on session state.
+     * <p>
+     * Such commands can be run with a captured user ID, concurrently with other commands
+     * that touch different links.
+     * </p>
+     *
+     * @param action The lower-case command name.
+     * @return {@code true} for {@code short}, {@code open}, {@code edit_clicks_limit} and {@code remove}.
+     */
+    static boolean isLinkCommand(String action) {
+        switch (action) {
+            case "short":
+            case "open":
+            case "edit_clicks_limit":
+            case "remove":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Executes a link command on behalf of a given user without touching session state.
+     * <p>
+     * Safe to call from several threads at once for commands on different links.
+     * </p>
+     *
+     * @param user   The user issuing the command.
+     * @param chunks Input split into command parts; the action must satisfy {@link #isLinkCommand(String)}.
+     * @param out    The output buffer.
+     * @return {@code true} if the command succeeded.
      */
-    private void showClearMenu() {
-        linkService.removeExpiredLinks();
-        System.out.println("Expired links have been removed");
+    boolean executeLinkCommand(UUID user, String[] chunks, StringBuilder out) {
+        switch (chunks[0].toLowerCase()) {
+            case "short":
+                return showShortMenu(user, chunks, out);
+            case "open":
+                return showOpenMenu(chunks, out);
+            case "edit_clicks_limit":
+                return showEditClicksMenu(user, chunks, out);
+            case "remove":
+                return showRemoveMenu(user, chunks, out);
+            default:
+                throw new IllegalArgumentException("Not a link command: " + chunks[0]);
+        }
+    }
+
+    /**
+     * Executes a single command in the current session.
+     * <p>
+     * The {@code exit} command is not handled here; callers stop reading input instead.
+     * </p>
+     *
+     * @param chunks Input split into command parts.
+     * @param out    The output buffer.
+     * @return {@code true} if the command succeeded.
+     */
+    boolean execute(String[] chunks, StringBuilder out) {
+        String action = chunks[0].toLowerCase();
+        if (isLinkCommand(action)) {
+            return executeLinkCommand(userId, chunks, out);
+        }
+
+        switch (action) {
+            case "help":
+                showHelpMenu(out);
+                return true;
+            case "register":
+                showRegisterMenu(out);
+                return true;
+            case "login":
+                return showLoginMenu(chunks, out);
+            case "clear":
+                showClearMenu(out);
+                return true;
+            case "hot":
+                showHotMenu(out);
+                return true;
+            case "stats":
+                showStatsMenu(out);
+                return true;
+            default:
+                println(out, "Unknown command. Type help for a list of commands");
+                return false;
+        }
+    }
+
+    /**
+     * Returns the user currently logged in.
+     *
+     * @return The current user ID, or {@code null} if nobody is logged in.
+     */
+    UUID getUserId() {
+        return userId;
+    }
+
+    /**
+     * Warms the link paths up with synthetic traffic through the real clock and a code generator
+     * of the real kind. Call before executing the first command.
+     *
+     * @return The warm-up totals.
+     */
+    public WarmupReport warmUp() {
+        CodeGenerator warmupCodeGenerator = createWarmupCodeGenerator(configService, codeGenerator);
+        try (EventLog warmupEventLog = createWarmupEventLog(configService, clockService)) {
+            return warmupService.warmUp(clockService, warmupCodeGenerator, warmupEventLog);
+        } finally {
+            if (warmupCodeGenerator != codeGenerator) {
+                warmupCodeGenerator.close();
+            }
+        }
+    }
+
+    /**
+     * Saves the hot link access summary for the next warm-up, stops the background expiry sweep
+     * and code leasing, flushes and closes the event log and stops the clock ticker. Call once no more commands will be executed.
+     */
+    public void close() {
+        try {
+            warmupService.saveAccessSummary(linkService.getHotLinks(), linksRepository);
+        } catch (IOException e) {
+            System.out.println("Failed to save the access summary: " + e.getMessage());
+        }
+        expirySweeper.close();
+        codeGenerator.close();
+        eventLog.close();
+        clockService.close();
     }
 
     /**
@@ -215,46 +663,23 @@ public class ShortLinkController {
         System.out.println("Welcome to the URL Shortening Service!");
         System.out.println("To view the available commands, enter the command help");
 
+        StringBuilder out = new StringBuilder();
         boolean isRunning = true;
         while (isRunning) {
             String input = scanner.nextLine().trim();
             if (input.isEmpty()) continue;
 
-            String[] chunks = input.split("\\s+");
-            String action = chunks[0].toLowerCase();
-
-            switch (action) {
-                case "help":
-                    showHelpMenu();
-                    break;
-                case "exit":
-                    isRunning = false;
-                    break;
-                case "register":
-                    showRegisterMenu();
-                    break;
-                case "login":
-                    showLoginMenu(chunks);
-                    break;
-                case "short":
-                    showShortMenu(chunks);
-                    break;
-                case "open":
-                    showOpenMenu(chunks);
-                    break;
-                case "edit_clicks_limit":
-                    showEditClicksMenu(chunks);
-                    break;
-                case "remove":
-                    showRemoveMenu(chunks);
-                    break;
-                case "clear":
-                    showClearMenu();
-                    break;
-                default:
-                    System.out.println("Unknown command. Type help for a list of commands");
+            String[] chunks = CommandTokenizer.tokenize(input);
+            if (chunks[0].equalsIgnoreCase("exit")) {
+                isRunning = false;
+                continue;
             }
+
+            execute(chunks, out);
+            System.out.print(out);
+            out.setLength(0);
         }
         scanner.close();
+        close();
     }
 }
@@ -0,0 +1,46 @@
+package org.example.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted when an open consumes clicks of a shortened link.
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+@Name("org.example.ClicksConsumed")
+@Label("Clicks Consumed")
+@Category({"ShortLink", "Links"})
+@Description("Clicks of a shortened link were consumed")
+@StackTrace(false)
+public class ClicksConsumedEvent extends Event {
+
+    /**
+     * The shortened URL whose clicks were consumed.
+     */
+    @Label("Short URL")
+    public String shortUrl;
+
+    /**
+     * The number of clicks consumed by this open.
+     */
+    @Label("Clicks")
+    public int clicks;
+
+    /**
+     * The total click count after this open.
+     */
+    @Label("Click Count")
+    public int clickCount;
+
+    /**
+     * The click limit of the link.
+     */
+    @Label("Click Limit")
+    public int clickLimit;
+}
@@ -0,0 +1,37 @@
+package org.example.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted for each batch of the expired link sweep.
+ * <p>
+ * The event duration is the time spent scanning and removing links in the batch.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+@Name("org.example.ExpirySweep")
+@Label("Expiry Sweep")
+@Category({"ShortLink", "Expiry"})
+@Description("A batch of the expired link sweep")
+@StackTrace(false)
+public class ExpirySweepEvent extends Event {
+
+    /**
+     * The number of links examined.
+     */
+    @Label("Scanned")
+    public long scanned;
+
+    /**
+     * The number of expired links removed.
+     */
+    @Label("Removed")
+    public long removed;
+}
@@ -0,0 +1,45 @@
+package org.example.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event emitted when a shortened link is created.
+ * <p>
+ * The event duration covers code generation and storing the link.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+@Name("org.example.LinkCreated")
+@Label("Link Created")
+@Category({"ShortLink", "Links"})
+@Description("A shortened link was created")
+@StackTrace(false)
+public class LinkCreatedEvent extends Event {
+
+    /**
+     * The shortened URL of the new link.
+     */
+    @Label("Short URL")
+    public String shortUrl;
+
+    /**
+     * The click limit applied to the link.
+     */
+    @Label("Click Limit")
+    public int clickLimit;
+
+    /**
+     * The time-to-live applied to the link.
+     */
+    @Label("Time To Live")
+    @Timespan(Timespan.MILLISECONDS)
+    public long timeToLive;
+}
@@ -0,0 +1,44 @@
+package org.example.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted for every attempt to open a shortened link.
+ * <p>
+ * The event duration is the redirect latency as seen by the service, so recordings can line up
+ * slow resolves with garbage collection, lock contention and other JVM events.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+@Name("org.example.LinkResolved")
+@Label("Link Resolved")
+@Category({"ShortLink", "Links"})
+@Description("A shortened link was resolved (hit, miss, expired or limit reached)")
+@StackTrace(false)
+public class LinkResolvedEvent extends Event {
+
+    /**
+     * The shortened URL that was requested.
+     */
+    @Label("Short URL")
+    public String shortUrl;
+
+    /**
+     * The {@link org.example.models.LinkOutcome} name of the attempt.
+     */
+    @Label("Outcome")
+    public String outcome;
+
+    /**
+     * Whether the link was opened.
+     */
+    @Label("Hit")
+    public boolean hit;
+}
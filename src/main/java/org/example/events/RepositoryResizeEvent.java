@@ -0,0 +1,51 @@
+package org.example.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted when the link repository grows or is compacted.
+ * <p>
+ * Growth events are emitted when the number of links crosses the resize threshold of the
+ * backing hash table; compaction events are emitted when a bulk removal shrinks the repository,
+ * and eviction events when links are evicted to keep the repository within its budget.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+@Name("org.example.RepositoryResize")
+@Label("Repository Resize")
+@Category({"ShortLink", "Repository"})
+@Description("The link repository was resized, compacted or evicted links")
+@StackTrace(false)
+public class RepositoryResizeEvent extends Event {
+
+    /**
+     * {@code GROW}, {@code COMPACT} or {@code EVICT}.
+     */
+    @Label("Kind")
+    public String kind;
+
+    /**
+     * The number of links before the change.
+     */
+    @Label("Size Before")
+    public long sizeBefore;
+
+    /**
+     * The number of links after the change.
+     */
+    @Label("Size After")
+    public long sizeAfter;
+
+    /**
+     * The estimated hash table capacity after the change, or the link budget for evictions.
+     */
+    @Label("Capacity")
+    public long capacity;
+}
@@ -0,0 +1,53 @@
+package org.example.logging;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An {@link EventSink} that writes records to standard output through a private buffer.
+ * <p>
+ * The sink writes to the stdout file descriptor directly rather than through
+ * {@link System#out}, so batches do not contend for the {@code PrintStream} lock.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class ConsoleEventSink implements EventSink {
+
+    /**
+     * Size of the output buffer in characters.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Buffered writer over the stdout file descriptor.
+     */
+    private final Writer writer = new BufferedWriter(
+            new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BUFFER_SIZE);
+
+    @Override
+    public void write(CharSequence records) throws IOException {
+        writer.append(records);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Flushes pending records; standard output itself is left open.
+     *
+     * @throws IOException If flushing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,298 @@
+package org.example.logging;
+
+import org.example.models.LinkOutcome;
+import org.example.services.ClockService;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous, allocation-free structured event log.
+ * <p>
+ * Producers call {@link #emit(LinkOutcome, String, long)} from the hot path. The call claims a
+ * slot in a preallocated ring buffer with a single CAS, stores the event fields and publishes
+ * the slot; it never blocks and never allocates. If the ring is full the event is dropped and
+ * counted instead of stalling the caller. Events are stamped by the injected {@link ClockService},
+ * so the hot path reads the cached ticker rather than the system clock and tests can drive time.
+ * </p>
+ * <p>
+ * A single daemon writer thread drains published slots in order, formats them as text lines
+ * and hands them to an {@link EventSink} in batches. The sink is flushed whenever the ring is
+ * drained, so console or file I/O never happens on a producer thread. An idle writer parks until
+ * the next event is published rather than polling, so it costs nothing (and records no
+ * {@code jdk.ThreadPark} events) while no links are used; the producer that finds it parked pays
+ * one unpark.
+ * </p>
+ *
+ * <p><b>Record format:</b></p>
+ * <pre>{@code
+ * 2024-01-01T12:00:00.123Z OPENED http://clck.ru/AbC123 1
+ * }</pre>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public final class EventLog implements AutoCloseable {
+
+    /**
+     * Default number of slots in the ring buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * Maximum number of records formatted into one sink write.
+     */
+    private static final int BATCH_SIZE = 512;
+
+    /**
+     * Ring buffer mask, equal to {@code capacity - 1}.
+     */
+    private final int mask;
+
+    /**
+     * Event outcomes, one per slot.
+     */
+    private final LinkOutcome[] outcomes;
+
+    /**
+     * Shortened URLs the events refer to, one per slot.
+     */
+    private final String[] shortUrls;
+
+    /**
+     * Numeric event payloads, one per slot.
+     */
+    private final long[] values;
+
+    /**
+     * Event timestamps in epoch milliseconds, one per slot.
+     */
+    private final long[] timestamps;
+
+    /**
+     * The sequence number last published into each slot, or {@code -1} if none.
+     */
+    private final AtomicLongArray published;
+
+    /**
+     * The next sequence number to be claimed by a producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The next sequence number to be consumed by the writer.
+     */
+    private volatile long head;
+
+    /**
+     * Number of events dropped because the ring was full.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Clock the events are stamped with.
+     */
+    private final ClockService clockService;
+
+    /**
+     * Destination of formatted records, or {@code null} if events are discarded.
+     */
+    private final EventSink sink;
+
+    /**
+     * The background writer thread, or {@code null} if events are discarded.
+     */
+    private final Thread writer;
+
+    /**
+     * Whether the log is still accepting events.
+     */
+    private volatile boolean running;
+
+    /**
+     * Whether the writer has drained the ring and is about to park or parked.
+     */
+    private volatile boolean writerIdle;
+
+    /**
+     * Constructs a new {@code EventLog} and starts its writer thread.
+     *
+     * @param sink         The sink formatted records are written to.
+     * @param capacity     The number of ring buffer slots; rounded up to the next power of two.
+     * @param clockService The clock the events are stamped with.
+     */
+    public EventLog(EventSink sink, int capacity, ClockService clockService) {
+        int size = Integer.highestOneBit(Math.max(2, capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        this.mask = size - 1;
+        this.outcomes = new LinkOutcome[size];
+        this.shortUrls = new String[size];
+        this.values = new long[size];
+        this.timestamps = new long[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+
+        this.clockService = clockService;
+        this.sink = sink;
+        this.running = sink != null;
+        if (sink != null) {
+            this.writer = new Thread(this::drainLoop, "event-log-writer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Returns an event log that discards every event without any background work.
+     *
+     * @return A discarding {@code EventLog}.
+     */
+    public static EventLog discarding() {
+        return new EventLog(null, 2, ClockService.SYSTEM);
+    }
+
+    /**
+     * Records an event without blocking.
+     *
+     * @param outcome  The outcome being reported.
+     * @param shortUrl The shortened URL the event refers to, or {@code null}.
+     * @param value    A numeric payload, such as a click count or a number of removed links.
+     */
+    public void emit(LinkOutcome outcome, String shortUrl, long value) {
+        if (!running) {
+            return;
+        }
+
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head > mask) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        outcomes[slot] = outcome;
+        shortUrls[slot] = shortUrl;
+        values[slot] = value;
+        timestamps[slot] = clockService.currentTimeMillis();
+        // A full store, so the writer cannot miss this slot after it announced it is idle
+        published.set(slot, sequence);
+        if (writerIdle) {
+            writerIdle = false;
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Returns the number of events dropped because the ring buffer was full.
+     *
+     * @return The dropped event count.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops accepting events, writes everything already published and closes the sink.
+     */
+    @Override
+    public void close() {
+        if (writer == null || !running) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writer thread body: drains the ring in batches until the log is closed.
+     */
+    private void drainLoop() {
+        StringBuilder batch = new StringBuilder(BATCH_SIZE * 64);
+        try {
+            while (true) {
+                boolean wasRunning = running;
+                int drained = drain(batch);
+                if (drained > 0) {
+                    continue;
+                }
+
+                sink.flush();
+                if (!wasRunning && tail.get() == head) {
+                    break;
+                }
+
+                writerIdle = true;
+                if (running && published.get((int) head & mask) != head) {
+                    LockSupport.park(this);
+                }
+                writerIdle = false;
+            }
+        } catch (IOException e) {
+            running = false;
+            System.err.println("Event log writer stopped: " + e.getMessage());
+        } finally {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close the event log: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Formats up to {@link #BATCH_SIZE} published events and writes them to the sink.
+     *
+     * @param batch Reusable buffer for formatted records.
+     * @return The number of events written.
+     * @throws IOException If the sink fails.
+     */
+    private int drain(StringBuilder batch) throws IOException {
+        long sequence = head;
+        int count = 0;
+
+        while (count < BATCH_SIZE) {
+            int slot = (int) sequence & mask;
+            if (published.get(slot) != sequence) {
+                break;
+            }
+
+            DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(timestamps[slot]), batch);
+            batch.append(' ').append(outcomes[slot])
+                    .append(' ').append(shortUrls[slot] == null ? "-" : shortUrls[slot])
+                    .append(' ').append(values[slot])
+                    .append(System.lineSeparator());
+
+            shortUrls[slot] = null;
+            sequence++;
+            count++;
+        }
+
+        if (count > 0) {
+            head = sequence;
+            sink.write(batch);
+            batch.setLength(0);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.logging;
+
+import java.io.IOException;
+
+/**
+ * Destination for formatted event log records.
+ * <p>
+ * Sinks are only ever called from the {@link EventLog} writer thread, so implementations
+ * do not need to be thread-safe.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public interface EventSink extends AutoCloseable {
+
+    /**
+     * Writes a batch of formatted records, each terminated by a line separator.
+     *
+     * @param records The records to write.
+     * @throws IOException If the records cannot be written.
+     */
+    void write(CharSequence records) throws IOException;
+
+    /**
+     * Flushes any buffered records to the underlying destination.
+     *
+     * @throws IOException If flushing fails.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flushes and releases the destination.
+     *
+     * @throws IOException If closing fails.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,27 @@
+package org.example.logging;
+
+/**
+ * An {@link EventSink} that accepts formatted records and writes them nowhere.
+ * <p>
+ * Unlike {@link EventLog#discarding()}, an {@link EventLog} over this sink runs its full path:
+ * producers claim and publish ring slots and the writer thread drains and formats them. It is
+ * used to warm that path up without producing any output.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class NullEventSink implements EventSink {
+
+    @Override
+    public void write(CharSequence records) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link EventSink} that appends records to a file and rolls it over by size.
+ * <p>
+ * When the active file grows past {@code maxFileBytes}, it is renamed to {@code <file>.1},
+ * older archives are shifted up by one, and archives beyond {@code maxArchives} are deleted.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class RollingFileEventSink implements EventSink {
+
+    /**
+     * Path of the active log file.
+     */
+    private final Path file;
+
+    /**
+     * Size in bytes after which the active file is rolled over.
+     */
+    private final long maxFileBytes;
+
+    /**
+     * Number of rolled-over files to keep.
+     */
+    private final int maxArchives;
+
+    /**
+     * Writer for the active file.
+     */
+    private Writer writer;
+
+    /**
+     * Approximate number of bytes in the active file.
+     */
+    private long fileBytes;
+
+    /**
+     * Constructs a new {@code RollingFileEventSink}, creating parent directories as needed.
+     *
+     * @param file         The active log file.
+     * @param maxFileBytes The size in bytes after which the file is rolled over.
+     * @param maxArchives  The number of rolled-over files to keep.
+     * @throws IOException If the log file cannot be opened.
+     */
+    public RollingFileEventSink(Path file, long maxFileBytes, int maxArchives) throws IOException {
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.maxArchives = maxArchives;
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    @Override
+    public void write(CharSequence records) throws IOException {
+        writer.append(records);
+        fileBytes += records.length();
+        if (fileBytes >= maxFileBytes) {
+            roll();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Opens the active file for appending.
+     *
+     * @throws IOException If the file cannot be opened.
+     */
+    private void open() throws IOException {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(file);
+    }
+
+    /**
+     * Closes the active file, shifts the archives and opens a fresh active file.
+     *
+     * @throws IOException If a file cannot be moved or reopened.
+     */
+    private void roll() throws IOException {
+        writer.close();
+
+        Files.deleteIfExists(archive(maxArchives));
+        for (int i = maxArchives - 1; i >= 1; i--) {
+            if (Files.exists(archive(i))) {
+                Files.move(archive(i), archive(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxArchives > 0) {
+            Files.move(file, archive(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+
+        open();
+    }
+
+    /**
+     * Returns the path of a numbered archive.
+     *
+     * @param index The archive number, starting at {@code 1}.
+     * @return The archive path.
+     */
+    private Path archive(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
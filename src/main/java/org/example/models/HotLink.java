@@ -0,0 +1,16 @@
+package org.example.models;
+
+/**
+ * A frequently resolved shortened link, as reported by hot-link detection.
+ * <p>
+ * Counts are estimates taken over a sliding time window and may slightly overcount.
+ * </p>
+ *
+ * @param shortUrl       The shortened URL.
+ * @param estimatedHits  The estimated number of resolves within the window.
+ * @param hitsPerSecond  The estimated resolve rate over the window, in hits per second.
+ * @author alvar91
+ * @version 1.0
+ */
+public record HotLink(String shortUrl, long estimatedHits, double hitsPerSecond) {
+}
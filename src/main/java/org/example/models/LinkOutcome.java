@@ -0,0 +1,80 @@
+package org.example.models;
+
+/**
+ * Typed outcome codes for operations on shortened links.
+ * <p>
+ * Services return these values instead of printing messages, leaving presentation to the
+ * caller. The same codes are emitted to the event log, so every outcome the user sees
+ * has a matching structured record.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public enum LinkOutcome {
+
+    /**
+     * A new shortened link was created.
+     */
+    CREATED,
+
+    /**
+     * The link was opened and still has clicks left.
+     */
+    OPENED,
+
+    /**
+     * The link was opened with its last remaining click and has been deleted.
+     */
+    OPENED_LAST_CLICK,
+
+    /**
+     * No link exists for the shortened URL.
+     */
+    NOT_FOUND,
+
+    /**
+     * The link's lifetime has passed; it has been deleted.
+     */
+    EXPIRED,
+
+    /**
+     * The link's click limit had already been reached; it has been deleted.
+     */
+    LIMIT_REACHED,
+
+    /**
+     * The link had been disabled; it has been deleted.
+     */
+    DISABLED,
+
+    /**
+     * The click limit of the link was changed.
+     */
+    LIMIT_CHANGED,
+
+    /**
+     * The requesting user does not own the link.
+     */
+    NOT_OWNER,
+
+    /**
+     * The link was removed by its owner.
+     */
+    REMOVED,
+
+    /**
+     * Expired links were removed by a sweep.
+     */
+    EXPIRED_REMOVED,
+
+    /**
+     * The link was deleted to keep the link store within its memory budget.
+     */
+    EVICTED,
+
+    /**
+     * The request was rejected by admission control because the service is overloaded.
+     */
+    SHED
+}
@@ -0,0 +1,16 @@
+package org.example.models;
+
+import java.util.UUID;
+
+/**
+ * A request to create a shortened link, as submitted in bulk or asynchronously.
+ *
+ * @param userId        The ID of the user creating the shortened link.
+ * @param originalUrl   The original URL to be shortened.
+ * @param clicksLimit   The maximum number of clicks allowed for the shortened link.
+ * @param lifetimeHours The lifetime of the link in hours.
+ * @author alvar91
+ * @version 1.0
+ */
+public record LinkRequest(UUID userId, String originalUrl, int clicksLimit, int lifetimeHours) {
+}
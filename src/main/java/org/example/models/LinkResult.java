@@ -0,0 +1,46 @@
+package org.example.models;
+
+/**
+ * The result of an operation on a single shortened link.
+ * <p>
+ * Results that carry no link (such as {@link LinkOutcome#NOT_FOUND}) are shared instances
+ * obtained through {@link #of(LinkOutcome)}, so failure paths do not allocate.
+ * </p>
+ *
+ * @param outcome The outcome of the operation.
+ * @param link    The link the operation acted on, or {@code null} if there is none.
+ * @author alvar91
+ * @version 1.0
+ */
+public record LinkResult(LinkOutcome outcome, ShortLink link) {
+
+    /**
+     * Shared link-less results, indexed by {@link LinkOutcome#ordinal()}.
+     */
+    private static final LinkResult[] WITHOUT_LINK = new LinkResult[LinkOutcome.values().length];
+
+    static {
+        for (LinkOutcome outcome : LinkOutcome.values()) {
+            WITHOUT_LINK[outcome.ordinal()] = new LinkResult(outcome, null);
+        }
+    }
+
+    /**
+     * Returns the shared result for an outcome that carries no link.
+     *
+     * @param outcome The outcome.
+     * @return A cached {@code LinkResult} with a {@code null} link.
+     */
+    public static LinkResult of(LinkOutcome outcome) {
+        return WITHOUT_LINK[outcome.ordinal()];
+    }
+
+    /**
+     * Checks whether the link was opened successfully.
+     *
+     * @return {@code true} for {@link LinkOutcome#OPENED} and {@link LinkOutcome#OPENED_LAST_CLICK}.
+     */
+    public boolean isOpened() {
+        return outcome == LinkOutcome.OPENED || outcome == LinkOutcome.OPENED_LAST_CLICK;
+    }
+}
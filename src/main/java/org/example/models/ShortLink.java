@@ -1,7 +1,7 @@
 package org.example.models;
 
-import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a shortened URL with associated metadata and functionality.
@@ -9,6 +9,18 @@ import java.util.UUID;
  * This class contains information about the original URL, the shortened URL,
  * its creator, click limits, and expiration details.
  * </p>
+ * <p>
+ * Links are shared between threads: clicks are consumed atomically with
+ * {@link #consumeClick()}, so concurrent opens can never exceed the click limit.
+ * </p>
+ * <p>
+ * Expiry is stored as an absolute timestamp, so checking it is a single comparison
+ * against a time supplied by the caller's clock.
+ * </p>
+ * <p>
+ * Each link carries an estimate of its heap footprint and the approximate time it was last
+ * resolved, which the link store uses to account for memory and choose links to evict.
+ * </p>
  *
  * @author alvar91
  * @version 1.0
@@ -16,19 +28,39 @@ import java.util.UUID;
 public class ShortLink {
 
     /**
-     * The timestamp when the link was created.
+     * Granularity of {@link #lastResolvedMillis}; resolves closer together than this do not update it.
+     */
+    private static final long RESOLVE_TIME_GRANULARITY_MILLIS = 1000;
+
+    /**
+     * The time the link was created, in milliseconds since the epoch.
+     */
+    private final long createdAtMillis;
+
+    /**
+     * The time after which the link is expired, in milliseconds since the epoch.
+     */
+    private final long expiresAtMillis;
+
+    /**
+     * The time the link was last resolved (or created), in milliseconds since the epoch.
+     */
+    private volatile long lastResolvedMillis;
+
+    /**
+     * Estimated heap footprint of this link in bytes.
      */
-    private final Instant creationTimestamp;
+    private final int estimatedSizeBytes;
 
     /**
      * Indicates if the link is active.
      */
-    private boolean isActive;
+    private volatile boolean isActive;
 
     /**
      * The current number of clicks on the shortened URL.
      */
-    private int clickCount;
+    private final AtomicInteger clickCount = new AtomicInteger();
 
     /**
      * The shortened URL.
@@ -48,12 +80,7 @@ public class ShortLink {
     /**
      * The maximum number of clicks allowed for this shortened URL.
      */
-    private int clickLimit;
-
-    /**
-     * The time-to-live (TTL) for the shortened link in milliseconds.
-     */
-    private final long timeToLiveMillis;
+    private volatile int clickLimit;
 
     /**
      * Constructs a new {@code ShortLink}.
@@ -62,18 +89,45 @@ public class ShortLink {
      * @param originalUrl      The original (long) URL.
      * @param userId           The ID of the user who created the shortened link.
      * @param clickLimit       The maximum number of clicks allowed for this shortened URL.
+     * @param createdAtMillis  The creation time in milliseconds since the epoch.
      * @param timeToLiveMillis The time-to-live (TTL) for the shortened link in milliseconds.
      */
-    public ShortLink(String shortenedUrl, String originalUrl, UUID userId, int clickLimit, long timeToLiveMillis) {
-        this.creationTimestamp = Instant.now();
+    public ShortLink(String shortenedUrl, String originalUrl, UUID userId, int clickLimit,
+                     long createdAtMillis, long timeToLiveMillis) {
+        this.createdAtMillis = createdAtMillis;
+        this.expiresAtMillis = createdAtMillis + timeToLiveMillis;
         this.isActive = true;
-        this.clickCount = 0;
 
         this.shortenedUrl = shortenedUrl;
         this.originalUrl = originalUrl;
         this.userId = userId;
         this.clickLimit = clickLimit;
-        this.timeToLiveMillis = timeToLiveMillis;
+        this.lastResolvedMillis = createdAtMillis;
+        this.estimatedSizeBytes = estimateSizeBytes(shortenedUrl, originalUrl);
+    }
+
+    /**
+     * Estimates the heap footprint of a link: the object itself, its counter, its user ID
+     * and its two URL strings, assuming compressed references and compact Latin-1 strings.
+     *
+     * @param shortenedUrl The shortened URL.
+     * @param originalUrl  The original URL.
+     * @return The estimated size in bytes.
+     */
+    private static int estimateSizeBytes(String shortenedUrl, String originalUrl) {
+        // ShortLink 56 + AtomicInteger 16 + UUID 32, plus two String objects of 24 and their byte arrays
+        return 104 + stringSizeBytes(shortenedUrl) + stringSizeBytes(originalUrl);
+    }
+
+    /**
+     * Estimates the heap footprint of a string.
+     *
+     * @param value The string.
+     * @return The estimated size in bytes, or {@code 0} for {@code null}.
+     */
+    private static int stringSizeBytes(String value) {
+        // String 24 + byte[] header 16 + payload, each rounded up to 8 bytes
+        return value == null ? 0 : 40 + ((value.length() + 7) & ~7);
     }
 
     /**
@@ -96,7 +150,24 @@ public class ShortLink {
      * Increments the click count each time the link is accessed.
      */
     public void incrementClicks() {
-        clickCount++;
+        clickCount.incrementAndGet();
+    }
+
+    /**
+     * Atomically consumes one click if the click limit has not been reached yet.
+     *
+     * @return The click count after this click, or {@code -1} if the limit had already been reached.
+     */
+    public int consumeClick() {
+        while (true) {
+            int current = clickCount.get();
+            if (current >= clickLimit) {
+                return -1;
+            }
+            if (clickCount.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
     }
 
     /**
@@ -126,6 +197,24 @@ public class ShortLink {
         return userId;
     }
 
+    /**
+     * Gets the current number of clicks on the shortened URL.
+     *
+     * @return The click count.
+     */
+    public int getClickCount() {
+        return clickCount.get();
+    }
+
+    /**
+     * Gets the click limit for the shortened URL.
+     *
+     * @return The maximum number of clicks allowed.
+     */
+    public int getClickLimit() {
+        return clickLimit;
+    }
+
     /**
      * Sets the click limit for the shortened URL.
      *
@@ -141,15 +230,68 @@ public class ShortLink {
      * @return {@code true} if the click limit has been reached, {@code false} otherwise.
      */
     public boolean isLimitReached() {
-        return clickCount >= clickLimit;
+        return clickCount.get() >= clickLimit;
+    }
+
+    /**
+     * Gets the time the link was created.
+     *
+     * @return The creation time in milliseconds since the epoch.
+     */
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    /**
+     * Gets the time after which the link is expired.
+     *
+     * @return The expiry time in milliseconds since the epoch.
+     */
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /**
+     * Records that the link was resolved.
+     * <p>
+     * The time is only written when it moved by at least a second, so hot links do not
+     * turn every resolve into a write to shared memory.
+     * </p>
+     *
+     * @param nowMillis The current time in milliseconds since the epoch.
+     */
+    public void markResolved(long nowMillis) {
+        if (nowMillis - lastResolvedMillis >= RESOLVE_TIME_GRANULARITY_MILLIS) {
+            lastResolvedMillis = nowMillis;
+        }
+    }
+
+    /**
+     * Gets the approximate time the link was last resolved.
+     *
+     * @return The last resolve time (or the creation time) in milliseconds since the epoch,
+     *         accurate to about a second.
+     */
+    public long getLastResolvedMillis() {
+        return lastResolvedMillis;
+    }
+
+    /**
+     * Gets the estimated heap footprint of the link.
+     *
+     * @return The estimated size in bytes.
+     */
+    public int getEstimatedSizeBytes() {
+        return estimatedSizeBytes;
     }
 
     /**
      * Checks if the link has expired based on its time-to-live (TTL).
      *
+     * @param nowMillis The current time in milliseconds since the epoch.
      * @return {@code true} if the link has expired, {@code false} otherwise.
      */
-    public boolean isExpired() {
-        return Instant.now().toEpochMilli() > (creationTimestamp.toEpochMilli() + timeToLiveMillis);
+    public boolean isExpired(long nowMillis) {
+        return nowMillis > expiresAtMillis;
     }
 }
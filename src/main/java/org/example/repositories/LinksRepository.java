@@ -1,9 +1,21 @@
 package org.example.repositories;
 
+import org.example.events.RepositoryResizeEvent;
 import org.example.models.ShortLink;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
  * Repository class for managing shortened links.
@@ -14,6 +26,25 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * By utilizing a {@link ConcurrentHashMap}, it ensures thread-safe access
  * in multi-threaded environments, making it suitable for concurrent applications.
+ * The key space is split into {@link #SEGMENT_COUNT} segments, each backed by its own map,
+ * so background work such as expiry sweeps can walk the segments in parallel and in slices.
+ * </p>
+ * <p>
+ * Every key maps to a short chain of versions (multi-version concurrency control). Each write
+ * prepends a new version stamped from a global version counter, and a removal prepends a
+ * tombstone. Lookups read the newest version without locking. A {@link LinksSnapshot} remembers
+ * the counter value at the time it was opened and reads, for every key, the newest version not
+ * newer than that, so bulk readers such as exports, backups and sweeps see a consistent
+ * point-in-time view while writers keep going.
+ * </p>
+ * <p>
+ * Versions no open snapshot can see are dropped by the writer that supersedes them, or, if a
+ * snapshot was still using them, when that snapshot is closed. With no snapshot open, every key
+ * holds exactly one version and removed keys are deleted outright.
+ * </p>
+ * <p>
+ * Growth past the backing table's resize threshold and bulk removals are reported as
+ * {@link RepositoryResizeEvent}s to the JDK Flight Recorder.
  * </p>
  *
  * @author alvar91
@@ -22,9 +53,73 @@ import java.util.concurrent.ConcurrentHashMap;
 public class LinksRepository {
 
     /**
-     * A thread-safe map for storing shortened links, where the key is the shortened URL.
+     * The initial table capacity of a {@link ConcurrentHashMap}.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Number of segments the key space is split into; a power of two.
+     */
+    public static final int SEGMENT_COUNT = 16;
+
+    /**
+     * Shift turning a mixed 32-bit hash into a segment index.
      */
-    private final Map<String, ShortLink> links = new ConcurrentHashMap<>();
+    private static final int SEGMENT_SHIFT = 32 - Integer.numberOfTrailingZeros(SEGMENT_COUNT);
+
+    /**
+     * Estimated per-link overhead of the store itself: the hash table node, the entry and its version.
+     */
+    public static final int ENTRY_OVERHEAD_BYTES = 112;
+
+    /**
+     * Version stamp of a version that is installed but not yet numbered.
+     */
+    static final long PENDING = Long.MAX_VALUE;
+
+    /**
+     * Thread-safe maps from shortened URL to the version chain of that key, one per segment.
+     */
+    private final List<Map<String, Entry>> segments = new ArrayList<>(SEGMENT_COUNT);
+
+    /**
+     * The source of version stamps; its current value is the newest committed version.
+     */
+    private final AtomicLong versionClock = new AtomicLong();
+
+    /**
+     * The number of keys whose newest version is a link rather than a tombstone.
+     */
+    private final AtomicLong liveCount = new AtomicLong();
+
+    /**
+     * Estimated heap footprint of the stored links, including {@link #ENTRY_OVERHEAD_BYTES} per link.
+     */
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /**
+     * Snapshots that are currently open.
+     */
+    private final Set<LinksSnapshot> openSnapshots = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Entries keeping old versions or tombstones for open snapshots, to be pruned once they close.
+     */
+    private final Queue<Entry> retained = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Estimated total capacity of the segment hash tables, used to detect resizes.
+     */
+    private volatile long estimatedCapacity = (long) INITIAL_CAPACITY * SEGMENT_COUNT;
+
+    /**
+     * Constructs an empty repository.
+     */
+    public LinksRepository() {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments.add(new ConcurrentHashMap<>());
+        }
+    }
 
     /**
      * Finds a {@link ShortLink} by its shortened URL.
@@ -33,16 +128,67 @@ public class LinksRepository {
      * @return The {@link ShortLink} object associated with the URL, or {@code null} if not found.
      */
     public ShortLink find(String shortUrl) {
-        return links.get(shortUrl);
+        Entry entry = segmentOf(shortUrl).get(shortUrl);
+        if (entry == null) {
+            return null;
+        }
+
+        Version head = entry.head;
+        return head == null ? null : head.link;
     }
 
     /**
-     * Retrieves all stored shortened links.
+     * Retrieves all stored shortened links as a consistent point-in-time copy.
+     * <p>
+     * Prefer {@link #snapshot()} for large stores, as it walks the links without copying them.
+     * </p>
      *
-     * @return A map containing all {@link ShortLink} objects, with shortened URLs as keys.
+     * @return An unmodifiable map containing all {@link ShortLink} objects, with shortened URLs as keys.
      */
     public Map<String, ShortLink> findAll() {
-        return links;
+        Map<String, ShortLink> copy = new HashMap<>();
+        try (LinksSnapshot snapshot = snapshot()) {
+            snapshot.forEach(link -> copy.put(link.getShortenedUrl(), link));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Opens a consistent point-in-time view of the repository.
+     * <p>
+     * The snapshot must be closed once it is no longer used, so that the versions it keeps
+     * alive can be reclaimed.
+     * </p>
+     *
+     * @return A new {@link LinksSnapshot}.
+     */
+    public LinksSnapshot snapshot() {
+        LinksSnapshot snapshot = new LinksSnapshot(this);
+        // Register before reading the clock, so writers never prune a version this snapshot needs
+        openSnapshots.add(snapshot);
+        snapshot.open(versionClock.get());
+        return snapshot;
+    }
+
+    /**
+     * Returns the number of stored links.
+     *
+     * @return The number of links.
+     */
+    public long size() {
+        return liveCount.get();
+    }
+
+    /**
+     * Returns the estimated heap footprint of the stored links.
+     * <p>
+     * Old versions kept alive by open snapshots are not included.
+     * </p>
+     *
+     * @return The estimated number of bytes used by the stored links.
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
     }
 
     /**
@@ -56,16 +202,431 @@ public class LinksRepository {
      * @return The saved {@link ShortLink}.
      */
     public ShortLink save(ShortLink link) {
-        links.put(link.getShortenedUrl(), link);
+        while (true) {
+            Entry entry = segmentOf(link.getShortenedUrl()).computeIfAbsent(link.getShortenedUrl(), Entry::new);
+            synchronized (entry) {
+                if (!entry.retired) {
+                    install(entry, link);
+                    break;
+                }
+            }
+        }
+
+        checkGrowth();
         return link;
     }
 
+    /**
+     * Saves a {@link ShortLink} only if no link is stored under its shortened URL yet.
+     *
+     * @param link The {@link ShortLink} to save.
+     * @return {@code true} if the link was saved; {@code false} if its shortened URL is already taken.
+     */
+    public boolean saveIfAbsent(ShortLink link) {
+        while (true) {
+            Entry entry = segmentOf(link.getShortenedUrl()).computeIfAbsent(link.getShortenedUrl(), Entry::new);
+            synchronized (entry) {
+                if (entry.retired) {
+                    continue;
+                }
+                if (entry.current() != null) {
+                    return false;
+                }
+                install(entry, link);
+                break;
+            }
+        }
+
+        checkGrowth();
+        return true;
+    }
+
+    /**
+     * Removes a {@link ShortLink} only if it is still the link stored under its shortened URL.
+     *
+     * @param link The {@link ShortLink} to remove.
+     * @return {@code true} if the link was removed.
+     */
+    public boolean remove(ShortLink link) {
+        Entry entry = segmentOf(link.getShortenedUrl()).get(link.getShortenedUrl());
+        if (entry == null) {
+            return false;
+        }
+
+        synchronized (entry) {
+            if (entry.retired || entry.current() != link) {
+                return false;
+            }
+            install(entry, null);
+            return true;
+        }
+    }
+
     /**
      * Removes a {@link ShortLink} by its shortened URL.
      *
      * @param shortUrl The shortened URL to remove.
      */
     public void remove(String shortUrl) {
-        links.remove(shortUrl);
+        Entry entry = segmentOf(shortUrl).get(shortUrl);
+        if (entry == null) {
+            return;
+        }
+
+        synchronized (entry) {
+            if (!entry.retired && entry.current() != null) {
+                install(entry, null);
+            }
+        }
+    }
+
+    /**
+     * Returns a live iterator over the links currently stored in one segment.
+     * <p>
+     * The iterator is weakly consistent: it never throws {@link java.util.ConcurrentModificationException},
+     * may or may not reflect changes made after it was created, and can be kept and resumed
+     * later, which makes it usable as a cursor for incremental sweeps. Use {@link #snapshot()}
+     * when a consistent view is needed.
+     * </p>
+     *
+     * @param segment The segment index, from {@code 0} to {@link #SEGMENT_COUNT} {@code - 1}.
+     * @return An iterator over the segment's links.
+     */
+    public Iterator<ShortLink> segmentIterator(int segment) {
+        Iterator<Entry> entries = segments.get(segment).values().iterator();
+        return new Iterator<>() {
+
+            /**
+             * The next link to return, or {@code null} if it has not been looked up yet.
+             */
+            private ShortLink next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && entries.hasNext()) {
+                    next = entries.next().current();
+                }
+                return next != null;
+            }
+
+            @Override
+            public ShortLink next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ShortLink link = next;
+                next = null;
+                return link;
+            }
+        };
+    }
+
+    /**
+     * Removes every {@link ShortLink} matching a predicate.
+     * <p>
+     * The links are read from a snapshot, so the sweep tests every link stored when it started
+     * exactly once. A link is only removed if it has not been replaced or removed since.
+     * </p>
+     *
+     * @param filter The predicate selecting links to remove.
+     * @return The number of links removed.
+     */
+    public int removeIf(Predicate<ShortLink> filter) {
+        long sizeBefore = liveCount.get();
+        int removed = 0;
+
+        try (LinksSnapshot snapshot = snapshot()) {
+            for (ShortLink link : snapshot) {
+                if (filter.test(link) && remove(link)) {
+                    removed++;
+                }
+            }
+        }
+
+        if (removed > 0) {
+            RepositoryResizeEvent event = new RepositoryResizeEvent();
+            if (event.shouldCommit()) {
+                event.kind = "COMPACT";
+                event.sizeBefore = sizeBefore;
+                event.sizeAfter = liveCount.get();
+                event.capacity = estimatedCapacity;
+                event.commit();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the version chains of all keys, for snapshots to walk.
+     *
+     * @return The live view of the entries.
+     */
+    Iterable<Entry> entries() {
+        return () -> segments.stream().flatMap(segment -> segment.values().stream()).iterator();
+    }
+
+    /**
+     * Returns the version chain of a key, for snapshots to read.
+     *
+     * @param shortUrl The shortened URL.
+     * @return The entry, or {@code null} if the key has never been written or has been reclaimed.
+     */
+    Entry entry(String shortUrl) {
+        return segmentOf(shortUrl).get(shortUrl);
+    }
+
+    /**
+     * Closes a snapshot and prunes the versions that were only kept for it.
+     *
+     * @param snapshot The snapshot being closed.
+     */
+    void release(LinksSnapshot snapshot) {
+        if (!openSnapshots.remove(snapshot)) {
+            return;
+        }
+
+        for (int pending = retained.size(); pending > 0; pending--) {
+            Entry entry = retained.poll();
+            if (entry == null) {
+                break;
+            }
+            synchronized (entry) {
+                entry.queued = false;
+                if (!entry.retired) {
+                    prune(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Installs a new version of a key. Must be called while holding the entry's lock.
+     * <p>
+     * The version is linked in before it is numbered, so a snapshot whose clock reading covers
+     * the new number is guaranteed to find it; snapshots that meet a version still being
+     * numbered wait for the number instead of skipping it.
+     * </p>
+     *
+     * @param entry The entry of the key.
+     * @param link  The new link, or {@code null} for a tombstone.
+     */
+    private void install(Entry entry, ShortLink link) {
+        ShortLink previous = entry.current();
+
+        Version version = new Version(link, entry.head);
+        entry.head = version;
+        version.stamp = versionClock.incrementAndGet();
+
+        if ((previous != null) != (link != null)) {
+            liveCount.addAndGet(link != null ? 1 : -1);
+        }
+        usedBytes.addAndGet(footprint(link) - footprint(previous));
+        prune(entry);
+    }
+
+    /**
+     * Returns the map of the segment a key belongs to.
+     * <p>
+     * The segment is taken from the high bits of the mixed hash, so keys within a segment still
+     * spread evenly over that segment's table, which indexes by the low bits.
+     * </p>
+     *
+     * @param shortUrl The shortened URL.
+     * @return The segment's map.
+     */
+    private Map<String, Entry> segmentOf(String shortUrl) {
+        return segments.get((shortUrl.hashCode() * 0x9E3779B9) >>> SEGMENT_SHIFT);
+    }
+
+    /**
+     * Estimates the bytes a link occupies in the store.
+     *
+     * @param link The link, or {@code null}.
+     * @return The link's size plus the per-entry overhead, or {@code 0} for {@code null}.
+     */
+    private static long footprint(ShortLink link) {
+        return link == null ? 0 : link.getEstimatedSizeBytes() + ENTRY_OVERHEAD_BYTES;
+    }
+
+    /**
+     * Drops versions that no open snapshot can see. Must be called while holding the entry's lock.
+     * <p>
+     * Keeps every version newer than the oldest snapshot plus the newest version that snapshot
+     * can see. A key whose only remaining version is an invisible tombstone is deleted; a key
+     * still holding history is queued to be pruned again when a snapshot closes.
+     * </p>
+     *
+     * @param entry The entry to prune.
+     */
+    private void prune(Entry entry) {
+        Version head = entry.head;
+        long watermark = openSnapshots.isEmpty() ? Long.MAX_VALUE - 1 : watermark();
+
+        Version oldestVisible = head;
+        while (oldestVisible != null && oldestVisible.stamp > watermark) {
+            oldestVisible = oldestVisible.next;
+        }
+        if (oldestVisible != null) {
+            oldestVisible.next = null;
+        }
+
+        if (head.link == null && head.next == null && head.stamp <= watermark) {
+            entry.retired = true;
+            segmentOf(entry.key).remove(entry.key, entry);
+        } else if ((head.next != null || head.link == null) && !entry.queued) {
+            entry.queued = true;
+            retained.add(entry);
+        }
+    }
+
+    /**
+     * Computes the oldest version any open snapshot may still read.
+     *
+     * @return The smallest snapshot version, or {@code 0} if a snapshot is still being opened.
+     */
+    private long watermark() {
+        // Read the clock before scanning: a snapshot missed by the scan opens later and sees newer versions
+        long watermark = versionClock.get();
+        for (LinksSnapshot snapshot : openSnapshots) {
+            long version = snapshot.getVersion();
+            if (version == LinksSnapshot.OPENING) {
+                return 0;
+            }
+            watermark = Math.min(watermark, version);
+        }
+        return watermark;
+    }
+
+    /**
+     * Reports growth if the number of links crossed the estimated table resize threshold.
+     */
+    private void checkGrowth() {
+        long capacity = estimatedCapacity;
+        if (liveCount.get() > capacity - (capacity >>> 2)) {
+            recordGrowth();
+        }
+    }
+
+    /**
+     * Doubles the estimated table capacity until it covers the current size and reports the growth.
+     */
+    private synchronized void recordGrowth() {
+        long capacity = estimatedCapacity;
+        long size = liveCount.get();
+        if (size <= capacity - (capacity >>> 2)) {
+            return;
+        }
+
+        while (size > capacity - (capacity >>> 2)) {
+            capacity <<= 1;
+        }
+        estimatedCapacity = capacity;
+
+        RepositoryResizeEvent event = new RepositoryResizeEvent();
+        if (event.shouldCommit()) {
+            event.kind = "GROW";
+            event.sizeBefore = size - 1;
+            event.sizeAfter = size;
+            event.capacity = capacity;
+            event.commit();
+        }
+    }
+
+    /**
+     * The version chain of a single shortened URL, newest version first.
+     */
+    static final class Entry {
+
+        /**
+         * The shortened URL this entry belongs to.
+         */
+        final String key;
+
+        /**
+         * The newest version, or {@code null} before the first write.
+         */
+        volatile Version head;
+
+        /**
+         * Whether the entry has been deleted from the map; writers must then retry with a new entry.
+         */
+        boolean retired;
+
+        /**
+         * Whether the entry is waiting in the retained queue.
+         */
+        boolean queued;
+
+        /**
+         * Constructs an empty entry.
+         *
+         * @param key The shortened URL.
+         */
+        Entry(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Returns the link in the newest version.
+         *
+         * @return The current link, or {@code null} if the key is removed or has never been written.
+         */
+        ShortLink current() {
+            Version version = head;
+            return version == null ? null : version.link;
+        }
+
+        /**
+         * Returns the link visible at a snapshot version.
+         *
+         * @param snapshotVersion The snapshot version.
+         * @return The newest link not newer than the snapshot, or {@code null} if there is none.
+         */
+        ShortLink visibleAt(long snapshotVersion) {
+            for (Version version = head; version != null; version = version.next) {
+                long stamp = version.stamp;
+                while (stamp == PENDING) {
+                    // The writer is between linking the version in and numbering it
+                    Thread.onSpinWait();
+                    stamp = version.stamp;
+                }
+                if (stamp <= snapshotVersion) {
+                    return version.link;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A single version of a key.
+     */
+    static final class Version {
+
+        /**
+         * The link, or {@code null} for a tombstone.
+         */
+        final ShortLink link;
+
+        /**
+         * The version number, or {@link #PENDING} while it is being installed.
+         */
+        volatile long stamp = PENDING;
+
+        /**
+         * The next older version, or {@code null}.
+         */
+        volatile Version next;
+
+        /**
+         * Constructs a new, not yet numbered version.
+         *
+         * @param link The link, or {@code null} for a tombstone.
+         * @param next The next older version.
+         */
+        Version(ShortLink link, Version next) {
+            this.link = link;
+            this.next = next;
+        }
     }
 }
@@ -0,0 +1,155 @@
+package org.example.repositories;
+
+import org.example.models.ShortLink;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A consistent point-in-time view of a {@link LinksRepository}.
+ * <p>
+ * A snapshot sees every link exactly as it was stored when the snapshot was opened: links saved
+ * or removed afterwards are neither shown nor hidden, however long the iteration takes.
+ * Opening, reading and iterating never block writers. The state of the {@link ShortLink}
+ * objects themselves, such as their click counts, is live and not versioned.
+ * </p>
+ * <p>
+ * A snapshot keeps superseded versions alive until it is closed, so it should be used in a
+ * {@code try}-with-resources block.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * try (LinksSnapshot snapshot = linksRepository.snapshot()) {
+ *     for (ShortLink link : snapshot) {
+ *         export(link);
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class LinksSnapshot implements Iterable<ShortLink>, AutoCloseable {
+
+    /**
+     * Version of a snapshot that is registered but has not read the version clock yet.
+     */
+    static final long OPENING = -1;
+
+    /**
+     * The repository this snapshot reads from.
+     */
+    private final LinksRepository repository;
+
+    /**
+     * The newest version visible to this snapshot.
+     */
+    private volatile long version = OPENING;
+
+    /**
+     * Whether the snapshot has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a snapshot that is not yet open.
+     *
+     * @param repository The repository to read from.
+     */
+    LinksSnapshot(LinksRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Fixes the version this snapshot reads at.
+     *
+     * @param version The current value of the repository's version clock.
+     */
+    void open(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns the version this snapshot reads at.
+     *
+     * @return The snapshot version, or {@link #OPENING} while it is being opened.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Finds a {@link ShortLink} as it was stored when the snapshot was opened.
+     *
+     * @param shortUrl The shortened URL to search for.
+     * @return The {@link ShortLink}, or {@code null} if none was stored at that time.
+     * @throws IllegalStateException If the snapshot has been closed.
+     */
+    public ShortLink find(String shortUrl) {
+        ensureOpen();
+        LinksRepository.Entry entry = repository.entry(shortUrl);
+        return entry == null ? null : entry.visibleAt(version);
+    }
+
+    /**
+     * Returns an iterator over the links stored when the snapshot was opened.
+     *
+     * @return An iterator over the snapshot's links.
+     * @throws IllegalStateException If the snapshot has been closed.
+     */
+    @Override
+    public Iterator<ShortLink> iterator() {
+        ensureOpen();
+        Iterator<LinksRepository.Entry> entries = repository.entries().iterator();
+        long snapshotVersion = version;
+
+        return new Iterator<>() {
+
+            /**
+             * The next link to return, or {@code null} if it has not been looked up yet.
+             */
+            private ShortLink next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && entries.hasNext()) {
+                    next = entries.next().visibleAt(snapshotVersion);
+                }
+                return next != null;
+            }
+
+            @Override
+            public ShortLink next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ShortLink link = next;
+                next = null;
+                return link;
+            }
+        };
+    }
+
+    /**
+     * Closes the snapshot and lets the repository reclaim the versions it kept alive.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            repository.release(this);
+        }
+    }
+
+    /**
+     * Checks that the snapshot has not been closed.
+     *
+     * @throws IllegalStateException If the snapshot has been closed.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Snapshot is closed");
+        }
+    }
+}
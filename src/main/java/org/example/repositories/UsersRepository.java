@@ -1,7 +1,8 @@
 package org.example.repositories;
 
-import java.util.ArrayList;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Repository class for managing registered users.
@@ -10,22 +11,19 @@ import java.util.UUID;
  * </p>
  *
  * <p>
- * It utilizes an {@link ArrayList} to store user IDs, which makes it simple and efficient
- * for applications with moderate user counts.
+ * It stores user IDs in a concurrent set backed by a {@link ConcurrentHashMap}, which gives
+ * constant-time lookups and allows users to be registered from several threads at once.
  * </p>
  *
- * <p><b>Note:</b> For large-scale systems, consider using a more efficient data structure
- * like a {@link java.util.HashSet} for constant-time lookups.</p>
- *
  * @author alvar91
  * @version 1.0
  */
 public class UsersRepository {
 
     /**
-     * A list to store the UUIDs of registered users.
+     * A thread-safe set to store the UUIDs of registered users.
      */
-    private final ArrayList<UUID> usersId = new ArrayList<>();
+    private final Set<UUID> usersId = ConcurrentHashMap.newKeySet();
 
     /**
      * Adds a new user by their unique identifier (UUID).
@@ -0,0 +1,260 @@
+package org.example.services;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limiter whose limit adapts to measured latency using AIMD.
+ * <p>
+ * Requests acquire a slot with {@link #tryAcquire()} and report their latency on
+ * {@link #release(long)}. Latencies feed a smoothed average (an EWMA weighting each sample by
+ * {@code 1/}{@link #SMOOTHING_DIVISOR}) and a minimum latency, the latency of the service when
+ * nothing queues. The service counts as congested only while the smoothed latency is above both
+ * the target and {@link #CONGESTION_GRADIENT} times the minimum, so a single slow request or a
+ * workload that is uniformly slow without any queueing never shrinks the limit.
+ * </p>
+ * <p>
+ * The average starts at the target rather than at the first sample, and each sample is clamped to
+ * {@link #CONGESTION_GRADIENT} times the target before it is averaged. A cold request (class
+ * loading, interpreted code) can therefore move the average by at most an eighth of the target
+ * instead of dominating it for dozens of requests and cutting the limit as soon as a warm request
+ * lowers the minimum.
+ * </p>
+ * <p>
+ * While the service is not congested the limit grows by one per {@code limit} requests
+ * (additive increase). While it is congested the limit is cut by {@link #BACKOFF_RATIO}
+ * (multiplicative decrease), at most once per cool-down period so a single burst is not punished
+ * repeatedly. If no request completed for {@link #IDLE_RECOVERY_NANOS}, the latency history is
+ * stale: the next request that would be shed instead restores the maximum limit and starts
+ * measuring afresh.
+ * </p>
+ * <p>
+ * Acquiring and releasing are lock-free; a request over the limit is rejected immediately
+ * rather than queued. Concurrent releases may race on the latency statistics, which only
+ * loses the odd sample.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Factor applied to the limit when latency exceeds the target.
+     */
+    private static final double BACKOFF_RATIO = 0.9;
+
+    /**
+     * Inverse weight of a new sample in the smoothed latency.
+     */
+    private static final int SMOOTHING_DIVISOR = 8;
+
+    /**
+     * How many times the minimum latency the smoothed latency must reach to count as congestion.
+     */
+    private static final int CONGESTION_GRADIENT = 2;
+
+    /**
+     * Time without any completed request after which the limiter recovers its maximum limit.
+     */
+    private static final long IDLE_RECOVERY_NANOS = 1_000_000_000L;
+
+    /**
+     * The lowest limit the limiter backs off to.
+     */
+    private final int minLimit;
+
+    /**
+     * The highest limit the limiter grows to.
+     */
+    private final int maxLimit;
+
+    /**
+     * The latency above which the limit is decreased, in nanoseconds.
+     */
+    private final long targetLatencyNanos;
+
+    /**
+     * The highest latency a single sample contributes, in nanoseconds.
+     */
+    private final long sampleCeilingNanos;
+
+    /**
+     * Minimum time between two decreases, in nanoseconds.
+     */
+    private final long cooldownNanos;
+
+    /**
+     * The current concurrency limit.
+     */
+    private final AtomicInteger limit;
+
+    /**
+     * The number of requests currently admitted.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Fast requests seen since the last increase.
+     */
+    private final AtomicInteger successesSinceIncrease = new AtomicInteger();
+
+    /**
+     * {@link System#nanoTime()} of the last decrease.
+     */
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Smoothed request latency in nanoseconds, or {@code 0} before the first sample.
+     */
+    private volatile long smoothedNanos;
+
+    /**
+     * Lowest request latency seen since the limiter was created or last recovered, in nanoseconds.
+     */
+    private volatile long minLatencyNanos = Long.MAX_VALUE;
+
+    /**
+     * {@link System#nanoTime()} of the last release.
+     */
+    private volatile long lastReleaseNanos = System.nanoTime();
+
+    /**
+     * Number of requests rejected because the limit was reached.
+     */
+    private final LongAdder shed = new LongAdder();
+
+    /**
+     * Constructs a new {@code AdaptiveConcurrencyLimiter} starting at its maximum limit.
+     *
+     * @param minLimit            The lowest limit; must be positive.
+     * @param maxLimit            The highest and initial limit; must not be lower than {@code minLimit}.
+     * @param targetLatencyMicros The latency above which the limit is decreased, in microseconds.
+     * @throws IllegalArgumentException If the limits are inconsistent.
+     */
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, long targetLatencyMicros) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 0 < min <= max");
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyMicros * 1000;
+        this.sampleCeilingNanos = this.targetLatencyNanos * CONGESTION_GRADIENT;
+        this.cooldownNanos = Math.max(this.targetLatencyNanos, 1_000_000);
+        this.limit = new AtomicInteger(maxLimit);
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @return {@code true} if the request was admitted and must later call {@link #release(long)};
+     *         {@code false} if it was shed.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                if (recoverIfIdle()) {
+                    continue;
+                }
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and adapts the limit to its latency.
+     *
+     * @param latencyNanos How long the request took, in nanoseconds.
+     */
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        long now = System.nanoTime();
+        lastReleaseNanos = now;
+
+        long sample = Math.min(latencyNanos, sampleCeilingNanos);
+        long smoothed = smoothedNanos == 0 ? targetLatencyNanos : smoothedNanos;
+        smoothed += (sample - smoothed) / SMOOTHING_DIVISOR;
+        smoothedNanos = smoothed;
+        long minLatency = Math.min(minLatencyNanos, sample);
+        minLatencyNanos = minLatency;
+
+        if (smoothed > targetLatencyNanos && smoothed > minLatency * CONGESTION_GRADIENT) {
+            long last = lastDecreaseNanos.get();
+            if (now - last >= cooldownNanos && lastDecreaseNanos.compareAndSet(last, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * BACKOFF_RATIO)));
+                successesSinceIncrease.set(0);
+            }
+            return;
+        }
+
+        int current = limit.get();
+        if (current < maxLimit && successesSinceIncrease.incrementAndGet() >= current) {
+            successesSinceIncrease.set(0);
+            limit.compareAndSet(current, current + 1);
+        }
+    }
+
+    /**
+     * Restores the maximum limit and forgets the latency history if no request completed recently.
+     *
+     * @return {@code true} if the limit was raised.
+     */
+    private boolean recoverIfIdle() {
+        int current = limit.get();
+        if (current >= maxLimit) {
+            return false;
+        }
+
+        long last = lastReleaseNanos;
+        if (System.nanoTime() - last < IDLE_RECOVERY_NANOS || !limit.compareAndSet(current, maxLimit)) {
+            return false;
+        }
+        smoothedNanos = 0;
+        minLatencyNanos = Long.MAX_VALUE;
+        successesSinceIncrease.set(0);
+        return true;
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return The limit.
+     */
+    public int getLimit() {
+        return limit.get();
+    }
+
+    /**
+     * Returns the smoothed latency of recent requests.
+     *
+     * @return The smoothed latency in microseconds, or {@code 0} before the first request.
+     */
+    public long getSmoothedLatencyMicros() {
+        return smoothedNanos / 1000;
+    }
+
+    /**
+     * Returns the number of requests currently admitted.
+     *
+     * @return The in-flight count.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of requests shed since the limiter was created.
+     *
+     * @return The shed count.
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+}
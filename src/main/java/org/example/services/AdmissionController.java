@@ -0,0 +1,126 @@
+package org.example.services;
+
+/**
+ * Admission control for the link service, with separate budgets for reads and writes.
+ * <p>
+ * Resolves (reads) and link creation (writes) each go through their own
+ * {@link AdaptiveConcurrencyLimiter}, so a burst of creations cannot starve redirects and
+ * vice versa. Requests over budget fail fast with an {@link OverloadedException} carrying a
+ * retry-after hint instead of queueing, which keeps latency of admitted requests bounded.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class AdmissionController {
+
+    /**
+     * Limiter for resolves.
+     */
+    private final AdaptiveConcurrencyLimiter reads;
+
+    /**
+     * Limiter for link creation.
+     */
+    private final AdaptiveConcurrencyLimiter writes;
+
+    /**
+     * Exception thrown when a read is shed.
+     */
+    private final OverloadedException readsOverloaded;
+
+    /**
+     * Exception thrown when a write is shed.
+     */
+    private final OverloadedException writesOverloaded;
+
+    /**
+     * Constructs a new {@code AdmissionController} from the settings in a {@link ConfigService}.
+     *
+     * @param configService The configuration to read budgets and latency targets from.
+     */
+    public AdmissionController(ConfigService configService) {
+        this(new AdaptiveConcurrencyLimiter(1, configService.getAdmissionReadConcurrency(),
+                        configService.getAdmissionLatencyTargetMicros()),
+                new AdaptiveConcurrencyLimiter(1, configService.getAdmissionWriteConcurrency(),
+                        configService.getAdmissionLatencyTargetMicros()),
+                configService.getAdmissionRetryAfterMillis());
+    }
+
+    /**
+     * Constructs a new {@code AdmissionController} from explicit limiters.
+     *
+     * @param reads            The limiter for resolves.
+     * @param writes           The limiter for link creation.
+     * @param retryAfterMillis The retry-after hint given to shed requests, in milliseconds.
+     */
+    public AdmissionController(AdaptiveConcurrencyLimiter reads, AdaptiveConcurrencyLimiter writes,
+                               long retryAfterMillis) {
+        this.reads = reads;
+        this.writes = writes;
+        this.readsOverloaded = new OverloadedException("Too many concurrent resolves", retryAfterMillis);
+        this.writesOverloaded = new OverloadedException("Too many concurrent link creations", retryAfterMillis);
+    }
+
+    /**
+     * Admits a resolve or fails fast.
+     *
+     * @return The admission time, to be passed to {@link #releaseRead(long)}.
+     * @throws OverloadedException If the read budget is exhausted.
+     */
+    public long acquireRead() {
+        if (!reads.tryAcquire()) {
+            throw readsOverloaded;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Releases an admitted resolve.
+     *
+     * @param admittedNanos The value returned by {@link #acquireRead()}.
+     */
+    public void releaseRead(long admittedNanos) {
+        reads.release(System.nanoTime() - admittedNanos);
+    }
+
+    /**
+     * Admits a link creation or fails fast.
+     *
+     * @return The admission time, to be passed to {@link #releaseWrite(long)}.
+     * @throws OverloadedException If the write budget is exhausted.
+     */
+    public long acquireWrite() {
+        if (!writes.tryAcquire()) {
+            throw writesOverloaded;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Releases an admitted link creation.
+     *
+     * @param admittedNanos The value returned by {@link #acquireWrite()}.
+     */
+    public void releaseWrite(long admittedNanos) {
+        writes.release(System.nanoTime() - admittedNanos);
+    }
+
+    /**
+     * Returns the limiter for resolves, for reporting.
+     *
+     * @return The read limiter.
+     */
+    public AdaptiveConcurrencyLimiter getReadLimiter() {
+        return reads;
+    }
+
+    /**
+     * Returns the limiter for link creation, for reporting.
+     *
+     * @return The write limiter.
+     */
+    public AdaptiveConcurrencyLimiter getWriteLimiter() {
+        return writes;
+    }
+}
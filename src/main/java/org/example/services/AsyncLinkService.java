@@ -0,0 +1,436 @@
+package org.example.services;
+
+import org.example.models.LinkOutcome;
+import org.example.models.LinkRequest;
+import org.example.models.LinkResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous facade over {@link LinkService}.
+ * <p>
+ * Every operation returns a {@link CompletableFuture} of a typed result, so callers can keep many
+ * operations in flight and compose them instead of blocking on each one. Failures are outcomes,
+ * not exceptions: a request shed by admission control completes with {@link LinkOutcome#SHED}.
+ * </p>
+ * <p>
+ * Writes (create, edit and remove) are queued and executed by a single daemon thread in
+ * micro-batches of up to {@code asyncBatchSize}. A batch starts as soon as a write arrives and
+ * lingers up to {@code asyncBatchLingerMicros} for more. Writes are executed, and their futures
+ * completed, in submission order; consecutive creates run through
+ * {@link LinkService#createShortLinks(List)}, which still admits each one separately. When the
+ * queue holds {@code asyncQueueCapacity} writes, further writes are shed immediately.
+ * </p>
+ * <p>
+ * Resolves are reads of the in-memory store and complete on the calling thread. Write futures
+ * complete on the batching thread, so dependent stages that do real work should use the
+ * {@code *Async} variants of {@link CompletableFuture} to keep the batcher free.
+ * </p>
+ *
+ * <p><b>Example:</b></p>
+ * <pre>{@code
+ * try (AsyncLinkService async = new AsyncLinkService(linkService, configService)) {
+ *     async.create(new LinkRequest(userId, "https://example.com", 10, 24))
+ *             .thenCompose(created -> async.resolve(created.link().getShortenedUrl()))
+ *             .thenAccept(opened -> System.out.println(opened.outcome()));
+ * }
+ * }</pre>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class AsyncLinkService implements AutoCloseable {
+
+    /**
+     * The synchronous service doing the work.
+     */
+    private final LinkService linkService;
+
+    /**
+     * Writes waiting for the batching thread.
+     */
+    private final BlockingQueue<PendingWrite> queue;
+
+    /**
+     * Maximum number of writes executed as one batch.
+     */
+    private final int batchSize;
+
+    /**
+     * How long a batch waits for more writes, in nanoseconds.
+     */
+    private final long lingerNanos;
+
+    /**
+     * The thread executing write batches.
+     */
+    private final Thread batcher;
+
+    /**
+     * Whether writes are still accepted.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Number of batches executed so far.
+     */
+    private final AtomicLong batchCount = new AtomicLong();
+
+    /**
+     * Number of writes executed so far.
+     */
+    private final AtomicLong writeCount = new AtomicLong();
+
+    /**
+     * Constructs a new {@code AsyncLinkService} and starts its batching thread.
+     *
+     * @param linkService   The service executing the operations.
+     * @param configService The configuration providing the batch size, linger time and queue capacity.
+     */
+    public AsyncLinkService(LinkService linkService, ConfigService configService) {
+        this(linkService, configService.getAsyncQueueCapacity(), configService.getAsyncBatchSize(),
+                configService.getAsyncBatchLingerMicros());
+    }
+
+    /**
+     * Constructs a new {@code AsyncLinkService} with explicit queue and batch sizes and starts its batching thread.
+     *
+     * @param linkService   The service executing the operations.
+     * @param queueCapacity The number of queued writes above which writes are shed.
+     * @param batchSize     The maximum number of writes executed as one batch.
+     * @param lingerMicros  How long a batch waits for more writes, in microseconds.
+     */
+    AsyncLinkService(LinkService linkService, int queueCapacity, int batchSize, long lingerMicros) {
+        this.linkService = linkService;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+
+        this.batcher = new Thread(this::batchLoop, "link-write-batcher");
+        this.batcher.setDaemon(true);
+        this.batcher.start();
+    }
+
+    /**
+     * Creates a shortened link.
+     *
+     * @param request The link to create.
+     * @return {@link LinkOutcome#CREATED} with the new link, or {@link LinkOutcome#SHED}.
+     */
+    public CompletableFuture<LinkResult> create(LinkRequest request) {
+        return submit(new PendingWrite(WriteKind.CREATE, request, null, null, 0));
+    }
+
+    /**
+     * Opens a shortened link.
+     *
+     * @param shortUrl The shortened URL to open.
+     * @return The outcome of {@link LinkService#openLink(String)}, or {@link LinkOutcome#SHED}.
+     */
+    public CompletableFuture<LinkResult> resolve(String shortUrl) {
+        return CompletableFuture.completedFuture(open(shortUrl));
+    }
+
+    /**
+     * Changes the click limit of a shortened link.
+     *
+     * @param userId   The ID of the user requesting the change.
+     * @param shortUrl The shortened URL whose limit is to be changed.
+     * @param newLimit The new click limit.
+     * @return The outcome of {@link LinkService#editLimit(UUID, String, int)}, or {@link LinkOutcome#SHED}.
+     */
+    public CompletableFuture<LinkResult> editLimit(UUID userId, String shortUrl, int newLimit) {
+        return submit(new PendingWrite(WriteKind.EDIT, null, userId, shortUrl, newLimit));
+    }
+
+    /**
+     * Removes a shortened link.
+     *
+     * @param userId   The ID of the user requesting the removal.
+     * @param shortUrl The shortened URL to be removed.
+     * @return The outcome of {@link LinkService#removeLink(UUID, String)}, or {@link LinkOutcome#SHED}.
+     */
+    public CompletableFuture<LinkOutcome> remove(UUID userId, String shortUrl) {
+        return submit(new PendingWrite(WriteKind.REMOVE, null, userId, shortUrl, 0)).thenApply(LinkResult::outcome);
+    }
+
+    /**
+     * Creates several shortened links.
+     *
+     * @param requests The links to create.
+     * @return One result per request, in order.
+     */
+    public CompletableFuture<List<LinkResult>> createAll(List<LinkRequest> requests) {
+        List<CompletableFuture<LinkResult>> futures = new ArrayList<>(requests.size());
+        for (LinkRequest request : requests) {
+            futures.add(create(request));
+        }
+        return all(futures);
+    }
+
+    /**
+     * Opens several shortened links.
+     *
+     * @param shortUrls The shortened URLs to open.
+     * @return One result per shortened URL, in order.
+     */
+    public CompletableFuture<List<LinkResult>> resolveAll(List<String> shortUrls) {
+        List<LinkResult> results = new ArrayList<>(shortUrls.size());
+        for (String shortUrl : shortUrls) {
+            results.add(open(shortUrl));
+        }
+        return CompletableFuture.completedFuture(results);
+    }
+
+    /**
+     * Removes several shortened links of one user.
+     *
+     * @param userId    The ID of the user requesting the removal.
+     * @param shortUrls The shortened URLs to be removed.
+     * @return One outcome per shortened URL, in order.
+     */
+    public CompletableFuture<List<LinkOutcome>> removeAll(UUID userId, List<String> shortUrls) {
+        List<CompletableFuture<LinkOutcome>> futures = new ArrayList<>(shortUrls.size());
+        for (String shortUrl : shortUrls) {
+            futures.add(remove(userId, shortUrl));
+        }
+        return all(futures);
+    }
+
+    /**
+     * Returns the number of write batches executed so far.
+     *
+     * @return The batch count.
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Returns the number of writes executed so far.
+     *
+     * @return The write count.
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Stops accepting writes, executes every write already queued and stops the batching thread.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        batcher.interrupt();
+        try {
+            batcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens a link, reporting a shed request as an outcome.
+     *
+     * @param shortUrl The shortened URL to open.
+     * @return The result of the open.
+     */
+    private LinkResult open(String shortUrl) {
+        try {
+            return linkService.openLink(shortUrl);
+        } catch (OverloadedException e) {
+            return LinkResult.of(LinkOutcome.SHED);
+        }
+    }
+
+    /**
+     * Queues a write for the batching thread, shedding it if the queue is full or the service is closed.
+     *
+     * @param write The write.
+     * @return The future the write completes.
+     */
+    private CompletableFuture<LinkResult> submit(PendingWrite write) {
+        if (!running || !queue.offer(write)) {
+            write.future.complete(LinkResult.of(LinkOutcome.SHED));
+        } else if (!running && queue.remove(write)) {
+            // Closed while queueing: the batcher may already have drained the queue for the last time
+            write.future.complete(LinkResult.of(LinkOutcome.SHED));
+        }
+        return write.future;
+    }
+
+    /**
+     * Combines futures into a future of their results, in order.
+     *
+     * @param futures The futures.
+     * @param <T>     The result type.
+     * @return A future completing once every future has completed.
+     */
+    private static <T> CompletableFuture<List<T>> all(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<T> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Batching thread body: collects and executes batches until the service is closed and drained.
+     */
+    private void batchLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = running ? queue.take() : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+                if (batch.size() < batchSize && lingerNanos > 0 && running) {
+                    PendingWrite next = queue.poll(lingerNanos, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                        queue.drainTo(batch, batchSize - batch.size());
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Interrupted by close(): execute what was collected, then drain the rest
+            }
+
+            if (!batch.isEmpty()) {
+                execute(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Executes a batch in submission order, running each run of consecutive creates as one
+     * {@link LinkService#createShortLinks(List)} call.
+     *
+     * @param batch The writes to execute.
+     */
+    private void execute(List<PendingWrite> batch) {
+        List<PendingWrite> creates = new ArrayList<>();
+        try {
+            for (PendingWrite write : batch) {
+                if (write.kind == WriteKind.CREATE) {
+                    creates.add(write);
+                    continue;
+                }
+
+                flushCreates(creates);
+                if (write.kind == WriteKind.EDIT) {
+                    write.future.complete(linkService.editLimit(write.userId, write.shortUrl, write.value));
+                } else {
+                    write.future.complete(LinkResult.of(linkService.removeLink(write.userId, write.shortUrl)));
+                }
+            }
+            flushCreates(creates);
+        } catch (RuntimeException e) {
+            // Never leave a caller waiting: fail whatever the error interrupted
+            for (PendingWrite write : batch) {
+                write.future.completeExceptionally(e);
+            }
+        }
+
+        batchCount.incrementAndGet();
+        writeCount.addAndGet(batch.size());
+    }
+
+    /**
+     * Creates a run of queued links and clears the run.
+     *
+     * @param creates The queued creates, in submission order; emptied on return.
+     */
+    private void flushCreates(List<PendingWrite> creates) {
+        if (creates.isEmpty()) {
+            return;
+        }
+
+        List<LinkRequest> requests = new ArrayList<>(creates.size());
+        for (PendingWrite create : creates) {
+            requests.add(create.request);
+        }
+        List<LinkResult> results = linkService.createShortLinks(requests);
+        for (int i = 0; i < creates.size(); i++) {
+            creates.get(i).future.complete(results.get(i));
+        }
+        creates.clear();
+    }
+
+    /**
+     * Kinds of queued writes.
+     */
+    private enum WriteKind {
+        CREATE, EDIT, REMOVE
+    }
+
+    /**
+     * A write waiting to be executed, with the future its caller holds.
+     */
+    private static final class PendingWrite {
+
+        /**
+         * The kind of write.
+         */
+        private final WriteKind kind;
+
+        /**
+         * The link to create, for {@link WriteKind#CREATE}.
+         */
+        private final LinkRequest request;
+
+        /**
+         * The requesting user, for edits and removals.
+         */
+        private final UUID userId;
+
+        /**
+         * The targeted shortened URL, for edits and removals.
+         */
+        private final String shortUrl;
+
+        /**
+         * The new click limit, for edits.
+         */
+        private final int value;
+
+        /**
+         * The future completed with the result of the write.
+         */
+        private final CompletableFuture<LinkResult> future = new CompletableFuture<>();
+
+        /**
+         * Constructs a new pending write.
+         *
+         * @param kind     The kind of write.
+         * @param request  The link to create, or {@code null}.
+         * @param userId   The requesting user, or {@code null}.
+         * @param shortUrl The targeted shortened URL, or {@code null}.
+         * @param value    The new click limit, or {@code 0}.
+         */
+        private PendingWrite(WriteKind kind, LinkRequest request, UUID userId, String shortUrl, int value) {
+            this.kind = kind;
+            this.request = request;
+            this.userId = userId;
+            this.shortUrl = shortUrl;
+            this.value = value;
+        }
+    }
+}
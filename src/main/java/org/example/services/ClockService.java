@@ -0,0 +1,28 @@
+package org.example.services;
+
+/**
+ * Source of wall-clock time for expiry and time-to-live decisions.
+ * <p>
+ * Services read the time through this interface instead of calling {@link System#currentTimeMillis()}
+ * or {@link java.time.Instant#now()} directly, so production code can use a cheap
+ * {@link CachedClockService} and tests can drive time with a {@link ManualClockService}.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ClockService {
+
+    /**
+     * A clock reading {@link System#currentTimeMillis()} on every call.
+     */
+    ClockService SYSTEM = System::currentTimeMillis;
+
+    /**
+     * Returns the current time.
+     *
+     * @return The current time in milliseconds since the epoch.
+     */
+    long currentTimeMillis();
+}
@@ -0,0 +1,37 @@
+package org.example.services;
+
+import org.example.utils.UrlShortener;
+
+/**
+ * Source of the codes that identify shortened links.
+ * <p>
+ * A single instance can use {@link #RANDOM} codes and rely on the repository to reject the rare
+ * duplicate. Several instances sharing one code space should use a {@link RangeLeaseCodeGenerator},
+ * which hands out codes from disjoint leased ranges and therefore never collides.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface CodeGenerator extends AutoCloseable {
+
+    /**
+     * A generator of random 6-character codes from {@link UrlShortener#generate()}.
+     */
+    CodeGenerator RANDOM = UrlShortener::generate;
+
+    /**
+     * Returns the next code.
+     *
+     * @return A 6-character alphanumeric code.
+     */
+    String next();
+
+    /**
+     * Releases any background resources. Does nothing by default.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -12,12 +12,42 @@ import java.util.Properties;
  * of shortened URLs and the minimum allowed click limit.
  * </p>
  * <p><b>Default Values:</b> If properties are not specified in the configuration file, default
- * values are used: 24 hours for maximum lifetime and 6 clicks for minimum click limit.</p>
+ * values are used: 24 hours for maximum lifetime, 6 clicks for minimum click limit, the
+ * top 10 hot links over a 60-second window, an event log written to standard output, and a
+ * link store bounded to one million links or an estimated 512 MB that evicts the least
+ * recently resolved links first, a startup warm-up of 50,000 resolves within 2 seconds, and a
+ * background expiry sweep of 4096 links per second on 2 threads, random short codes, and
+ * asynchronous writes batched up to 256 at a time.</p>
  *
  * <p><b>Example Configuration File:</b></p>
  * <pre>{@code
  * maxLifetimeHours=48
  * clicksLimit=10
+ * hotLinksTopK=20
+ * hotLinksWindowSeconds=300
+ * eventLogTarget=file
+ * eventLogFile=logs/shortlink-events.log
+ * eventLogMaxFileMb=10
+ * eventLogMaxFiles=5
+ * admissionReadConcurrency=256
+ * admissionWriteConcurrency=64
+ * admissionLatencyTargetMicros=2000
+ * admissionRetryAfterMillis=1000
+ * storeMaxLinks=1000000
+ * storeMaxMemoryMb=512
+ * storeEvictionPolicy=lru
+ * warmupBudgetMillis=2000
+ * warmupResolves=50000
+ * accessSummaryFile=logs/hot-links.tsv
+ * expirySweepIntervalMillis=1000
+ * expirySweepSliceSize=4096
+ * expirySweepParallelism=2
+ * codeAllocation=lease
+ * codeLeaseFile=/var/lib/shortlink/code-leases
+ * codeLeaseSize=100000
+ * asyncBatchSize=256
+ * asyncBatchLingerMicros=100
+ * asyncQueueCapacity=65536
  * }</pre>
  *
  * @author alvar91
@@ -40,6 +70,131 @@ public class ConfigService {
      */
     private static final String CLICKS_LIMIT_KEY = "clicksLimit";
 
+    /**
+     * Key used to retrieve the number of hot links to track from the configuration file.
+     */
+    private static final String HOT_LINKS_TOP_K_KEY = "hotLinksTopK";
+
+    /**
+     * Key used to retrieve the hot link detection window (in seconds) from the configuration file.
+     */
+    private static final String HOT_LINKS_WINDOW_SECONDS_KEY = "hotLinksWindowSeconds";
+
+    /**
+     * Key used to retrieve the event log target ({@code stdout}, {@code file} or {@code none}).
+     */
+    private static final String EVENT_LOG_TARGET_KEY = "eventLogTarget";
+
+    /**
+     * Key used to retrieve the event log file path from the configuration file.
+     */
+    private static final String EVENT_LOG_FILE_KEY = "eventLogFile";
+
+    /**
+     * Key used to retrieve the event log file size (in megabytes) that triggers a rollover.
+     */
+    private static final String EVENT_LOG_MAX_FILE_MB_KEY = "eventLogMaxFileMb";
+
+    /**
+     * Key used to retrieve the number of rolled-over event log files to keep.
+     */
+    private static final String EVENT_LOG_MAX_FILES_KEY = "eventLogMaxFiles";
+
+    /**
+     * Key used to retrieve the maximum number of concurrent resolves from the configuration file.
+     */
+    private static final String ADMISSION_READ_CONCURRENCY_KEY = "admissionReadConcurrency";
+
+    /**
+     * Key used to retrieve the maximum number of concurrent link creations from the configuration file.
+     */
+    private static final String ADMISSION_WRITE_CONCURRENCY_KEY = "admissionWriteConcurrency";
+
+    /**
+     * Key used to retrieve the latency target (in microseconds) above which concurrency limits back off.
+     */
+    private static final String ADMISSION_LATENCY_TARGET_MICROS_KEY = "admissionLatencyTargetMicros";
+
+    /**
+     * Key used to retrieve the retry-after hint (in milliseconds) given to shed requests.
+     */
+    private static final String ADMISSION_RETRY_AFTER_MILLIS_KEY = "admissionRetryAfterMillis";
+
+    /**
+     * Key used to retrieve the maximum number of stored links ({@code 0} for no limit).
+     */
+    private static final String STORE_MAX_LINKS_KEY = "storeMaxLinks";
+
+    /**
+     * Key used to retrieve the estimated memory budget of the link store in megabytes ({@code 0} for no limit).
+     */
+    private static final String STORE_MAX_MEMORY_MB_KEY = "storeMaxMemoryMb";
+
+    /**
+     * Key used to retrieve the eviction policy for live links ({@code lru} or {@code ttl}).
+     */
+    private static final String STORE_EVICTION_POLICY_KEY = "storeEvictionPolicy";
+
+    /**
+     * Key used to retrieve the startup warm-up time budget in milliseconds ({@code 0} disables warm-up).
+     */
+    private static final String WARMUP_BUDGET_MILLIS_KEY = "warmupBudgetMillis";
+
+    /**
+     * Key used to retrieve the number of synthetic resolves run during startup warm-up.
+     */
+    private static final String WARMUP_RESOLVES_KEY = "warmupResolves";
+
+    /**
+     * Key used to retrieve the path of the hot link access summary kept across restarts.
+     */
+    private static final String ACCESS_SUMMARY_FILE_KEY = "accessSummaryFile";
+
+    /**
+     * Key used to retrieve the pause between background expiry sweep slices in milliseconds ({@code 0} disables the background sweep).
+     */
+    private static final String EXPIRY_SWEEP_INTERVAL_MILLIS_KEY = "expirySweepIntervalMillis";
+
+    /**
+     * Key used to retrieve the maximum number of links examined per background expiry sweep slice.
+     */
+    private static final String EXPIRY_SWEEP_SLICE_SIZE_KEY = "expirySweepSliceSize";
+
+    /**
+     * Key used to retrieve the number of threads sweeping segments in parallel.
+     */
+    private static final String EXPIRY_SWEEP_PARALLELISM_KEY = "expirySweepParallelism";
+
+    /**
+     * Key used to retrieve the short code allocation mode ({@code random} or {@code lease}).
+     */
+    private static final String CODE_ALLOCATION_KEY = "codeAllocation";
+
+    /**
+     * Key used to retrieve the path of the file coordinating code range leases between instances.
+     */
+    private static final String CODE_LEASE_FILE_KEY = "codeLeaseFile";
+
+    /**
+     * Key used to retrieve the number of codes in each leased range.
+     */
+    private static final String CODE_LEASE_SIZE_KEY = "codeLeaseSize";
+
+    /**
+     * Key used to retrieve the maximum number of asynchronous writes executed as one micro-batch.
+     */
+    private static final String ASYNC_BATCH_SIZE_KEY = "asyncBatchSize";
+
+    /**
+     * Key used to retrieve how long (in microseconds) a micro-batch waits for more writes before it runs.
+     */
+    private static final String ASYNC_BATCH_LINGER_MICROS_KEY = "asyncBatchLingerMicros";
+
+    /**
+     * Key used to retrieve the maximum number of queued asynchronous writes.
+     */
+    private static final String ASYNC_QUEUE_CAPACITY_KEY = "asyncQueueCapacity";
+
     /**
      * Properties object to hold configuration values.
      */
@@ -55,6 +210,131 @@ public class ConfigService {
      */
     private final int minClicksLimit;
 
+    /**
+     * Configured number of hot links to track.
+     */
+    private final int hotLinksTopK;
+
+    /**
+     * Configured length of the hot link detection window (in seconds).
+     */
+    private final int hotLinksWindowSeconds;
+
+    /**
+     * Configured event log target ({@code stdout}, {@code file} or {@code none}).
+     */
+    private final String eventLogTarget;
+
+    /**
+     * Configured event log file path.
+     */
+    private final String eventLogFile;
+
+    /**
+     * Configured event log file size (in megabytes) that triggers a rollover.
+     */
+    private final int eventLogMaxFileMb;
+
+    /**
+     * Configured number of rolled-over event log files to keep.
+     */
+    private final int eventLogMaxFiles;
+
+    /**
+     * Configured maximum number of concurrent resolves.
+     */
+    private final int admissionReadConcurrency;
+
+    /**
+     * Configured maximum number of concurrent link creations.
+     */
+    private final int admissionWriteConcurrency;
+
+    /**
+     * Configured latency target (in microseconds) for admission control.
+     */
+    private final int admissionLatencyTargetMicros;
+
+    /**
+     * Configured retry-after hint (in milliseconds) given to shed requests.
+     */
+    private final int admissionRetryAfterMillis;
+
+    /**
+     * Configured maximum number of stored links.
+     */
+    private final int storeMaxLinks;
+
+    /**
+     * Configured estimated memory budget of the link store (in megabytes).
+     */
+    private final int storeMaxMemoryMb;
+
+    /**
+     * Configured eviction policy for live links ({@code lru} or {@code ttl}).
+     */
+    private final String storeEvictionPolicy;
+
+    /**
+     * Configured startup warm-up time budget (in milliseconds).
+     */
+    private final int warmupBudgetMillis;
+
+    /**
+     * Configured number of synthetic resolves run during startup warm-up.
+     */
+    private final int warmupResolves;
+
+    /**
+     * Configured path of the hot link access summary.
+     */
+    private final String accessSummaryFile;
+
+    /**
+     * Configured pause between background expiry sweep slices (in milliseconds).
+     */
+    private final int expirySweepIntervalMillis;
+
+    /**
+     * Configured maximum number of links examined per background expiry sweep slice.
+     */
+    private final int expirySweepSliceSize;
+
+    /**
+     * Configured number of threads sweeping segments in parallel.
+     */
+    private final int expirySweepParallelism;
+
+    /**
+     * Configured short code allocation mode ({@code random} or {@code lease}).
+     */
+    private final String codeAllocation;
+
+    /**
+     * Configured path of the code range lease file.
+     */
+    private final String codeLeaseFile;
+
+    /**
+     * Configured number of codes in each leased range.
+     */
+    private final int codeLeaseSize;
+
+    /**
+     * Configured maximum number of asynchronous writes executed as one micro-batch.
+     */
+    private final int asyncBatchSize;
+
+    /**
+     * Configured time (in microseconds) a micro-batch waits for more writes.
+     */
+    private final int asyncBatchLingerMicros;
+
+    /**
+     * Configured maximum number of queued asynchronous writes.
+     */
+    private final int asyncQueueCapacity;
+
     /**
      * Constructor that loads configuration settings from the {@code config.properties} file.
      * <p>
@@ -74,6 +354,31 @@ public class ConfigService {
 
         this.maxLifetimeHours = parseProperty(MAX_LIFETIME_HOURS_KEY, 24);  // Default: 24 hours
         this.minClicksLimit = parseProperty(CLICKS_LIMIT_KEY, 6);           // Default: 6 clicks
+        this.hotLinksTopK = parseProperty(HOT_LINKS_TOP_K_KEY, 10);         // Default: top 10 links
+        this.hotLinksWindowSeconds = parseProperty(HOT_LINKS_WINDOW_SECONDS_KEY, 60); // Default: 1 minute
+        this.eventLogTarget = properties.getProperty(EVENT_LOG_TARGET_KEY, "stdout").trim();
+        this.eventLogFile = properties.getProperty(EVENT_LOG_FILE_KEY, "logs/shortlink-events.log").trim();
+        this.eventLogMaxFileMb = parseProperty(EVENT_LOG_MAX_FILE_MB_KEY, 10);    // Default: 10 MB
+        this.eventLogMaxFiles = parseProperty(EVENT_LOG_MAX_FILES_KEY, 5);        // Default: 5 archives
+        this.admissionReadConcurrency = parseProperty(ADMISSION_READ_CONCURRENCY_KEY, 256); // Default: 256 resolves
+        this.admissionWriteConcurrency = parseProperty(ADMISSION_WRITE_CONCURRENCY_KEY, 64); // Default: 64 creations
+        this.admissionLatencyTargetMicros = parseProperty(ADMISSION_LATENCY_TARGET_MICROS_KEY, 2000); // Default: 2 ms
+        this.admissionRetryAfterMillis = parseProperty(ADMISSION_RETRY_AFTER_MILLIS_KEY, 1000); // Default: 1 second
+        this.storeMaxLinks = parseProperty(STORE_MAX_LINKS_KEY, 1000000);      // Default: 1 million links
+        this.storeMaxMemoryMb = parseProperty(STORE_MAX_MEMORY_MB_KEY, 512);   // Default: 512 MB
+        this.storeEvictionPolicy = properties.getProperty(STORE_EVICTION_POLICY_KEY, "lru").trim();
+        this.warmupBudgetMillis = parseProperty(WARMUP_BUDGET_MILLIS_KEY, 2000); // Default: 2 seconds
+        this.warmupResolves = parseProperty(WARMUP_RESOLVES_KEY, 50000);       // Default: 50,000 resolves
+        this.accessSummaryFile = properties.getProperty(ACCESS_SUMMARY_FILE_KEY, "logs/hot-links.tsv").trim();
+        this.expirySweepIntervalMillis = parseProperty(EXPIRY_SWEEP_INTERVAL_MILLIS_KEY, 1000); // Default: 1 second
+        this.expirySweepSliceSize = parseProperty(EXPIRY_SWEEP_SLICE_SIZE_KEY, 4096); // Default: 4096 links
+        this.expirySweepParallelism = parseProperty(EXPIRY_SWEEP_PARALLELISM_KEY, 2); // Default: 2 threads
+        this.codeAllocation = properties.getProperty(CODE_ALLOCATION_KEY, "random").trim();
+        this.codeLeaseFile = properties.getProperty(CODE_LEASE_FILE_KEY, "data/code-leases").trim();
+        this.codeLeaseSize = parseProperty(CODE_LEASE_SIZE_KEY, 100000);       // Default: 100,000 codes
+        this.asyncBatchSize = parseProperty(ASYNC_BATCH_SIZE_KEY, 256);        // Default: 256 writes
+        this.asyncBatchLingerMicros = parseProperty(ASYNC_BATCH_LINGER_MICROS_KEY, 100); // Default: 100 microseconds
+        this.asyncQueueCapacity = parseProperty(ASYNC_QUEUE_CAPACITY_KEY, 65536); // Default: 65536 writes
     }
 
     /**
@@ -107,4 +412,229 @@ public class ConfigService {
     public int getMinClicksLimit() {
         return minClicksLimit;
     }
+
+    /**
+     * Returns the configured number of hot links to track.
+     *
+     * @return The number of hot links reported by hot link detection.
+     */
+    public int getHotLinksTopK() {
+        return hotLinksTopK;
+    }
+
+    /**
+     * Returns the configured length of the hot link detection window.
+     *
+     * @return The window length in seconds.
+     */
+    public int getHotLinksWindowSeconds() {
+        return hotLinksWindowSeconds;
+    }
+
+    /**
+     * Returns the configured event log target.
+     *
+     * @return {@code stdout}, {@code file} or {@code none}.
+     */
+    public String getEventLogTarget() {
+        return eventLogTarget;
+    }
+
+    /**
+     * Returns the configured event log file path.
+     *
+     * @return The path of the active event log file.
+     */
+    public String getEventLogFile() {
+        return eventLogFile;
+    }
+
+    /**
+     * Returns the configured event log file size that triggers a rollover.
+     *
+     * @return The maximum event log file size in megabytes.
+     */
+    public int getEventLogMaxFileMb() {
+        return eventLogMaxFileMb;
+    }
+
+    /**
+     * Returns the configured number of rolled-over event log files to keep.
+     *
+     * @return The number of archived event log files.
+     */
+    public int getEventLogMaxFiles() {
+        return eventLogMaxFiles;
+    }
+
+    /**
+     * Returns the configured maximum number of concurrent resolves.
+     *
+     * @return The upper bound of the adaptive read concurrency limit.
+     */
+    public int getAdmissionReadConcurrency() {
+        return admissionReadConcurrency;
+    }
+
+    /**
+     * Returns the configured maximum number of concurrent link creations.
+     *
+     * @return The upper bound of the adaptive write concurrency limit.
+     */
+    public int getAdmissionWriteConcurrency() {
+        return admissionWriteConcurrency;
+    }
+
+    /**
+     * Returns the configured latency target above which concurrency limits back off.
+     *
+     * @return The latency target in microseconds.
+     */
+    public int getAdmissionLatencyTargetMicros() {
+        return admissionLatencyTargetMicros;
+    }
+
+    /**
+     * Returns the configured retry-after hint given to shed requests.
+     *
+     * @return The retry-after delay in milliseconds.
+     */
+    public int getAdmissionRetryAfterMillis() {
+        return admissionRetryAfterMillis;
+    }
+
+    /**
+     * Returns the configured maximum number of stored links.
+     *
+     * @return The link budget, or {@code 0} for no limit.
+     */
+    public int getStoreMaxLinks() {
+        return storeMaxLinks;
+    }
+
+    /**
+     * Returns the configured estimated memory budget of the link store.
+     *
+     * @return The memory budget in megabytes, or {@code 0} for no limit.
+     */
+    public int getStoreMaxMemoryMb() {
+        return storeMaxMemoryMb;
+    }
+
+    /**
+     * Returns the configured eviction policy for live links.
+     *
+     * @return {@code lru} to evict the least recently resolved links, or {@code ttl} to evict the links closest to expiry.
+     */
+    public String getStoreEvictionPolicy() {
+        return storeEvictionPolicy;
+    }
+
+    /**
+     * Returns the configured startup warm-up time budget.
+     *
+     * @return The warm-up budget in milliseconds, or {@code 0} if warm-up is disabled.
+     */
+    public int getWarmupBudgetMillis() {
+        return warmupBudgetMillis;
+    }
+
+    /**
+     * Returns the configured number of synthetic resolves run during startup warm-up.
+     *
+     * @return The number of warm-up resolves.
+     */
+    public int getWarmupResolves() {
+        return warmupResolves;
+    }
+
+    /**
+     * Returns the configured path of the hot link access summary kept across restarts.
+     *
+     * @return The access summary file path.
+     */
+    public String getAccessSummaryFile() {
+        return accessSummaryFile;
+    }
+
+    /**
+     * Returns the configured pause between background expiry sweep slices.
+     *
+     * @return The pause in milliseconds, or {@code 0} if the background sweep is disabled.
+     */
+    public int getExpirySweepIntervalMillis() {
+        return expirySweepIntervalMillis;
+    }
+
+    /**
+     * Returns the configured maximum number of links examined per background expiry sweep slice.
+     *
+     * @return The slice size in links.
+     */
+    public int getExpirySweepSliceSize() {
+        return expirySweepSliceSize;
+    }
+
+    /**
+     * Returns the configured number of threads sweeping segments in parallel.
+     *
+     * @return The expiry sweep parallelism.
+     */
+    public int getExpirySweepParallelism() {
+        return expirySweepParallelism;
+    }
+
+    /**
+     * Returns the configured short code allocation mode.
+     *
+     * @return {@code random} for random codes, or {@code lease} for codes from ranges leased through the lease file.
+     */
+    public String getCodeAllocation() {
+        return codeAllocation;
+    }
+
+    /**
+     * Returns the configured path of the file coordinating code range leases between instances.
+     *
+     * @return The lease file path.
+     */
+    public String getCodeLeaseFile() {
+        return codeLeaseFile;
+    }
+
+    /**
+     * Returns the configured number of codes in each leased range.
+     *
+     * @return The lease size in codes.
+     */
+    public int getCodeLeaseSize() {
+        return codeLeaseSize;
+    }
+
+    /**
+     * Returns the configured maximum number of asynchronous writes executed as one micro-batch.
+     *
+     * @return The micro-batch size.
+     */
+    public int getAsyncBatchSize() {
+        return asyncBatchSize;
+    }
+
+    /**
+     * Returns the configured time a micro-batch waits for more writes before it runs.
+     *
+     * @return The linger time in microseconds, or {@code 0} to run as soon as a write arrives.
+     */
+    public int getAsyncBatchLingerMicros() {
+        return asyncBatchLingerMicros;
+    }
+
+    /**
+     * Returns the configured maximum number of queued asynchronous writes.
+     *
+     * @return The write queue capacity; writes beyond it are shed.
+     */
+    public int getAsyncQueueCapacity() {
+        return asyncQueueCapacity;
+    }
 }
@@ -0,0 +1,289 @@
+package org.example.services;
+
+import org.example.events.ExpirySweepEvent;
+import org.example.logging.EventLog;
+import org.example.models.LinkOutcome;
+import org.example.models.ShortLink;
+import org.example.repositories.LinksRepository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * Removes expired links in the background, a bounded slice at a time.
+ * <p>
+ * Each slice sweeps all {@link LinksRepository#SEGMENT_COUNT} segments of the repository in
+ * parallel on a small dedicated {@link ForkJoinPool}, examining at most
+ * {@code expirySweepSliceSize / SEGMENT_COUNT} links per segment. Every segment keeps a cursor
+ * (a live segment iterator) between slices, so consecutive slices resume where the previous one
+ * stopped and a full pass over millions of links is spread over many short slices instead of
+ * one long pause. A cursor that reaches the end of its segment starts over on the next slice.
+ * </p>
+ * <p>
+ * Slices run on a daemon thread every {@code expirySweepIntervalMillis}; a non-positive
+ * interval disables the background sweep, leaving {@link #runSlice()} to be called explicitly.
+ * The same thread runs the {@link LinkEvictor} passes: after every slice, and as soon as a
+ * creation finds the store over budget, so eviction never stalls the thread creating a link.
+ * Each slice is reported as an {@link ExpirySweepEvent} and, if it removed anything, as an
+ * {@link LinkOutcome#EXPIRED_REMOVED} event; totals and slice durations are available from the getters.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public final class ExpirySweeper implements AutoCloseable {
+
+    /**
+     * The repository being swept.
+     */
+    private final LinksRepository linksRepository;
+
+    /**
+     * The evictor whose passes run on the background thread.
+     */
+    private final LinkEvictor linkEvictor;
+
+    /**
+     * Asynchronous log receiving an event for every slice that removed links.
+     */
+    private final EventLog eventLog;
+
+    /**
+     * Clock expiry is checked against.
+     */
+    private final ClockService clockService;
+
+    /**
+     * Pool sweeping the segments of a slice in parallel.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Maximum number of links examined per segment in one slice.
+     */
+    private final int linksPerSegment;
+
+    /**
+     * The position of the sweep in each segment; only touched by the task sweeping that segment.
+     */
+    private final List<Iterator<ShortLink>> cursors = new ArrayList<>(LinksRepository.SEGMENT_COUNT);
+
+    /**
+     * The background thread running slices, or {@code null} if the background sweep is disabled.
+     */
+    private final Thread sweeper;
+
+    /**
+     * The pause between two background slices in nanoseconds.
+     */
+    private final long intervalNanos;
+
+    /**
+     * Whether the background sweep is still running.
+     */
+    private volatile boolean running;
+
+    /**
+     * Number of expired links removed so far.
+     */
+    private final LongAdder reclaimedCount = new LongAdder();
+
+    /**
+     * Number of slices run so far.
+     */
+    private final AtomicLong sliceCount = new AtomicLong();
+
+    /**
+     * Duration of the latest slice in microseconds.
+     */
+    private volatile long lastSliceMicros;
+
+    /**
+     * Duration of the longest slice so far in microseconds.
+     */
+    private volatile long maxSliceMicros;
+
+    /**
+     * Constructs a new {@code ExpirySweeper} and starts the background sweep if it is enabled.
+     *
+     * @param linksRepository The repository to sweep.
+     * @param linkEvictor     The evictor keeping the repository within budget.
+     * @param configService   The configuration providing the interval, slice size and parallelism.
+     * @param eventLog        The {@link EventLog} receiving sweep events.
+     * @param clockService    The clock expiry is checked against.
+     */
+    public ExpirySweeper(LinksRepository linksRepository, LinkEvictor linkEvictor, ConfigService configService,
+                         EventLog eventLog, ClockService clockService) {
+        this.linksRepository = linksRepository;
+        this.linkEvictor = linkEvictor;
+        this.eventLog = eventLog;
+        this.clockService = clockService;
+        this.linksPerSegment = Math.max(1, configService.getExpirySweepSliceSize() / LinksRepository.SEGMENT_COUNT);
+        this.pool = new ForkJoinPool(Math.max(1, configService.getExpirySweepParallelism()), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("expiry-sweeper-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        for (int segment = 0; segment < LinksRepository.SEGMENT_COUNT; segment++) {
+            cursors.add(linksRepository.segmentIterator(segment));
+        }
+
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(configService.getExpirySweepIntervalMillis());
+        this.running = intervalNanos > 0;
+        if (running) {
+            this.sweeper = new Thread(this::sweepLoop, "expiry-sweep-scheduler");
+            this.sweeper.setDaemon(true);
+            this.sweeper.start();
+            linkEvictor.setEvictionTrigger(() -> LockSupport.unpark(sweeper));
+        } else {
+            this.sweeper = null;
+        }
+    }
+
+    /**
+     * Sweeps the next slice of every segment in parallel.
+     * <p>
+     * Must not be called concurrently with itself; the background thread is its only caller
+     * while the background sweep is enabled.
+     * </p>
+     *
+     * @return The number of expired links removed by this slice.
+     */
+    public int runSlice() {
+        ExpirySweepEvent event = new ExpirySweepEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+
+        long now = clockService.currentTimeMillis();
+        LongAdder scanned = new LongAdder();
+        LongAdder removed = new LongAdder();
+        pool.submit(() -> IntStream.range(0, LinksRepository.SEGMENT_COUNT).parallel()
+                .forEach(segment -> sweepSegment(segment, now, scanned, removed))).join();
+
+        long sliceMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        lastSliceMicros = sliceMicros;
+        maxSliceMicros = Math.max(maxSliceMicros, sliceMicros);
+        sliceCount.incrementAndGet();
+
+        int removedLinks = removed.intValue();
+        reclaimedCount.add(removedLinks);
+        if (removedLinks > 0) {
+            eventLog.emit(LinkOutcome.EXPIRED_REMOVED, null, removedLinks);
+        }
+
+        if (event.shouldCommit()) {
+            event.scanned = scanned.sum();
+            event.removed = removedLinks;
+            event.commit();
+        }
+        return removedLinks;
+    }
+
+    /**
+     * Returns the number of expired links removed by the sweeper so far.
+     *
+     * @return The reclaimed link count.
+     */
+    public long getReclaimedCount() {
+        return reclaimedCount.sum();
+    }
+
+    /**
+     * Returns the number of slices run so far.
+     *
+     * @return The slice count.
+     */
+    public long getSliceCount() {
+        return sliceCount.get();
+    }
+
+    /**
+     * Returns the duration of the latest slice.
+     *
+     * @return The duration in microseconds.
+     */
+    public long getLastSliceMicros() {
+        return lastSliceMicros;
+    }
+
+    /**
+     * Returns the duration of the longest slice so far.
+     *
+     * @return The duration in microseconds.
+     */
+    public long getMaxSliceMicros() {
+        return maxSliceMicros;
+    }
+
+    /**
+     * Stops the background sweep and the sweeping pool; later eviction passes run on the creating thread.
+     */
+    @Override
+    public void close() {
+        if (sweeper != null && running) {
+            linkEvictor.setEvictionTrigger(null);
+            running = false;
+            LockSupport.unpark(sweeper);
+            try {
+                sweeper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Background thread body: runs a slice and any eviction pass the store needs every interval,
+     * or earlier when woken by the evictor, until the sweeper is closed.
+     */
+    private void sweepLoop() {
+        while (running) {
+            LockSupport.parkNanos(intervalNanos);
+            if (running) {
+                runSlice();
+                linkEvictor.evictIfNeeded();
+            }
+        }
+    }
+
+    /**
+     * Examines up to {@link #linksPerSegment} links of a segment from its cursor and removes the expired ones.
+     *
+     * @param segment The segment index.
+     * @param now     The current time in milliseconds since the epoch.
+     * @param scanned Counter of examined links.
+     * @param removed Counter of removed links.
+     */
+    private void sweepSegment(int segment, long now, LongAdder scanned, LongAdder removed) {
+        Iterator<ShortLink> cursor = cursors.get(segment);
+        int examined = 0;
+        int expired = 0;
+
+        while (examined < linksPerSegment) {
+            if (!cursor.hasNext()) {
+                // End of the segment: the next slice starts a new pass over it
+                cursors.set(segment, linksRepository.segmentIterator(segment));
+                break;
+            }
+
+            ShortLink link = cursor.next();
+            examined++;
+            if (link.isExpired(now) && linksRepository.remove(link)) {
+                expired++;
+            }
+        }
+
+        scanned.add(examined);
+        removed.add(expired);
+    }
+}
@@ -0,0 +1,396 @@
+package org.example.services;
+
+import org.example.models.HotLink;
+import org.example.utils.CountMinSketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Detects the most frequently resolved shortened links over a sliding time window.
+ * <p>
+ * The window is split into a ring of buckets, each backed by its own {@link CountMinSketch}.
+ * Recording a hit increments the sketch of the current bucket without locking; when a bucket
+ * is reused for a new time slot it is cleared first. Estimates for the whole window are obtained
+ * by summing the row counters of all live buckets and taking the minimum.
+ * </p>
+ * <p>
+ * The {@code topK} heaviest links are kept as candidates in a small min-heap. A hit on a link that
+ * already is a candidate only raises its estimate in an atomic, so the hottest links, which take
+ * most of the hits, never lock. The heap is ordered by the estimates its entries had when they were
+ * last placed, and is only reordered under its lock when a new link may enter it: entries whose
+ * estimate has grown since are then re-placed until the lightest entry is current, and the new
+ * link replaces it if it is heavier. Whenever the window slides to a new bucket, every candidate is
+ * re-estimated against the live buckets and candidates that dropped out of the window are evicted,
+ * so the admission threshold always reflects current estimates rather than the peak a link once
+ * reached. Memory use is fixed: it depends on the sketch size, the bucket count and {@code topK},
+ * never on the number of links.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class HotLinkTracker {
+
+    /**
+     * Number of rows in each bucket sketch.
+     */
+    private static final int SKETCH_DEPTH = 4;
+
+    /**
+     * Number of counters per row in each bucket sketch.
+     */
+    private static final int SKETCH_WIDTH = 2048;
+
+    /**
+     * Number of buckets the window is split into.
+     */
+    private static final int BUCKET_COUNT = 6;
+
+    /**
+     * One sketch per bucket of the sliding window.
+     */
+    private final CountMinSketch[] buckets;
+
+    /**
+     * The time slot (epoch) each bucket currently holds counts for.
+     */
+    private final AtomicLongArray bucketEpochs;
+
+    /**
+     * The length of a single bucket in milliseconds.
+     */
+    private final long bucketMillis;
+
+    /**
+     * The maximum number of hot links reported.
+     */
+    private final int topK;
+
+    /**
+     * Min-heap of the current top-K candidates, ordered by the estimate they were last placed with.
+     */
+    private final PriorityQueue<Candidate> heap;
+
+    /**
+     * Index of the candidates in {@link #heap} by shortened URL.
+     */
+    private final Map<String, Candidate> candidates = new ConcurrentHashMap<>();
+
+    /**
+     * Clock the window slides with.
+     */
+    private final ClockService clockService;
+
+    /**
+     * The estimate of the lightest candidate in a full heap; links at or below it cannot enter the heap.
+     */
+    private volatile long admissionThreshold;
+
+    /**
+     * The time slot the candidate estimates were last recomputed for.
+     */
+    private volatile long refreshedEpoch;
+
+    /**
+     * Constructs a new {@code HotLinkTracker}.
+     *
+     * @param topK          The number of hot links to track; must be positive.
+     * @param windowSeconds The length of the sliding window in seconds; must be positive.
+     * @param clockService  The clock the window slides with.
+     * @throws IllegalArgumentException If {@code topK} or {@code windowSeconds} is not positive.
+     */
+    public HotLinkTracker(int topK, int windowSeconds, ClockService clockService) {
+        if (topK <= 0 || windowSeconds <= 0) {
+            throw new IllegalArgumentException("Hot link top-K and window must be positive");
+        }
+
+        this.topK = topK;
+        this.clockService = clockService;
+        this.bucketMillis = Math.max(1, windowSeconds * 1000L / BUCKET_COUNT);
+        this.buckets = new CountMinSketch[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        }
+        this.bucketEpochs = new AtomicLongArray(BUCKET_COUNT);
+        this.heap = new PriorityQueue<>(topK, Comparator.comparingLong(candidate -> candidate.placedEstimate));
+    }
+
+    /**
+     * Records a single resolve of a shortened URL.
+     *
+     * @param shortUrl The shortened URL that was resolved.
+     */
+    public void record(String shortUrl) {
+        long epoch = clockService.currentTimeMillis() / bucketMillis;
+        if (epoch > refreshedEpoch) {
+            refresh(epoch);
+        }
+
+        CountMinSketch bucket = currentBucket(epoch);
+        Candidate candidate = candidates.get(shortUrl);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            long hash = candidate != null ? candidate.hashes[row] : CountMinSketch.hash(row, shortUrl);
+            bucket.increment(row, hash);
+            estimate = Math.min(estimate, windowCount(row, hash, epoch));
+        }
+
+        if (candidate != null) {
+            candidate.raise(estimate);
+        } else if (estimate > admissionThreshold) {
+            offer(shortUrl, estimate);
+        }
+    }
+
+    /**
+     * Estimates how many times a shortened URL was resolved within the window.
+     *
+     * @param shortUrl The shortened URL.
+     * @return The estimated number of resolves.
+     */
+    public long estimate(String shortUrl) {
+        return estimate(hashes(shortUrl), clockService.currentTimeMillis() / bucketMillis);
+    }
+
+    /**
+     * Returns the current hot links, heaviest first.
+     * <p>
+     * Estimates are recomputed at query time, so links that cooled down since they entered
+     * the heap are reported with their current rate, and links that left the window are evicted
+     * even if no resolve was recorded since the window slid.
+     * </p>
+     *
+     * @return Up to {@code topK} hot links with their estimated hit counts and rates.
+     */
+    public List<HotLink> getTopLinks() {
+        long epoch = clockService.currentTimeMillis() / bucketMillis;
+        double windowSeconds = BUCKET_COUNT * bucketMillis / 1000.0;
+        if (epoch > refreshedEpoch) {
+            refresh(epoch);
+        }
+
+        List<Candidate> snapshot;
+        synchronized (heap) {
+            snapshot = new ArrayList<>(candidates.values());
+        }
+
+        List<HotLink> hotLinks = new ArrayList<>(snapshot.size());
+        for (Candidate candidate : snapshot) {
+            long hits = estimate(candidate.hashes, epoch);
+            if (hits > 0) {
+                hotLinks.add(new HotLink(candidate.shortUrl, hits, hits / windowSeconds));
+            }
+        }
+        hotLinks.sort(Comparator.comparingLong(HotLink::estimatedHits).reversed());
+        return hotLinks;
+    }
+
+    /**
+     * Returns the bucket for a time slot, clearing it first if it still holds an older slot.
+     *
+     * @param epoch The current time slot.
+     * @return The sketch to count into.
+     */
+    private CountMinSketch currentBucket(long epoch) {
+        int slot = (int) (epoch % BUCKET_COUNT);
+        long seen = bucketEpochs.get(slot);
+        if (seen < epoch && bucketEpochs.compareAndSet(slot, seen, epoch)) {
+            buckets[slot].clear();
+        }
+        return buckets[slot];
+    }
+
+    /**
+     * Computes the row hashes of a shortened URL.
+     *
+     * @param shortUrl The shortened URL.
+     * @return One hash per sketch row.
+     */
+    private static long[] hashes(String shortUrl) {
+        long[] hashes = new long[SKETCH_DEPTH];
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            hashes[row] = CountMinSketch.hash(row, shortUrl);
+        }
+        return hashes;
+    }
+
+    /**
+     * Estimates the windowed count of a key by summing every live bucket row by row.
+     *
+     * @param hashes The row hashes of the key.
+     * @param epoch  The current time slot.
+     * @return The estimated count within the window.
+     */
+    private long estimate(long[] hashes, long epoch) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            min = Math.min(min, windowCount(row, hashes[row], epoch));
+        }
+        return min;
+    }
+
+    /**
+     * Sums the counters of one row over every live bucket.
+     *
+     * @param row   The row index.
+     * @param hash  The row hash of the key.
+     * @param epoch The current time slot.
+     * @return The windowed count of the row.
+     */
+    private long windowCount(int row, long hash, long epoch) {
+        long sum = 0;
+        for (int slot = 0; slot < BUCKET_COUNT; slot++) {
+            long slotEpoch = bucketEpochs.get(slot);
+            if (slotEpoch <= epoch && slotEpoch > epoch - BUCKET_COUNT) {
+                sum += buckets[slot].rowCount(row, hash);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Re-estimates every candidate for a new time slot, evicting those no longer in the window
+     * and recomputing the admission threshold from the current estimates.
+     *
+     * @param epoch The current time slot.
+     */
+    private void refresh(long epoch) {
+        synchronized (heap) {
+            if (epoch <= refreshedEpoch) {
+                return;
+            }
+
+            heap.clear();
+            for (Iterator<Candidate> iterator = candidates.values().iterator(); iterator.hasNext(); ) {
+                Candidate candidate = iterator.next();
+                long estimate = estimate(candidate.hashes, epoch);
+                candidate.estimate.set(estimate);
+                candidate.placedEstimate = estimate;
+                if (estimate > 0) {
+                    heap.offer(candidate);
+                } else {
+                    iterator.remove();
+                }
+            }
+
+            refreshedEpoch = epoch;
+            admissionThreshold = heap.size() < topK ? 0 : heap.peek().placedEstimate;
+        }
+    }
+
+    /**
+     * Offers a link that is not a candidate yet to the top-K heap, replacing the lightest
+     * candidate if the heap is full and the link is heavier.
+     *
+     * @param shortUrl The shortened URL.
+     * @param estimate Its current windowed estimate.
+     */
+    private void offer(String shortUrl, long estimate) {
+        synchronized (heap) {
+            if (candidates.containsKey(shortUrl)) {
+                return;
+            }
+
+            if (heap.size() < topK) {
+                admit(shortUrl, estimate);
+            } else if (estimate > settleLightest().placedEstimate) {
+                candidates.remove(heap.poll().shortUrl);
+                admit(shortUrl, estimate);
+            }
+
+            admissionThreshold = heap.size() < topK ? 0 : settleLightest().placedEstimate;
+        }
+    }
+
+    /**
+     * Adds a new candidate to the heap; the caller holds the heap lock.
+     *
+     * @param shortUrl The shortened URL.
+     * @param estimate Its current windowed estimate.
+     */
+    private void admit(String shortUrl, long estimate) {
+        Candidate candidate = new Candidate(shortUrl, hashes(shortUrl), estimate);
+        candidates.put(shortUrl, candidate);
+        heap.offer(candidate);
+    }
+
+    /**
+     * Re-places heap entries whose estimate grew since they were placed, until the lightest
+     * entry is current; the caller holds the heap lock and the heap is not empty.
+     *
+     * @return The lightest candidate.
+     */
+    private Candidate settleLightest() {
+        for (int moved = 0; moved < topK; moved++) {
+            Candidate lightest = heap.peek();
+            long current = lightest.estimate.get();
+            if (current == lightest.placedEstimate) {
+                break;
+            }
+            heap.poll();
+            lightest.placedEstimate = current;
+            heap.offer(lightest);
+        }
+        return heap.peek();
+    }
+
+    /**
+     * A link held in the top-K heap.
+     */
+    private static final class Candidate {
+
+        /**
+         * The shortened URL.
+         */
+        private final String shortUrl;
+
+        /**
+         * The row hashes of the shortened URL.
+         */
+        private final long[] hashes;
+
+        /**
+         * The latest windowed estimate, raised without locking on every hit.
+         */
+        private final AtomicLong estimate;
+
+        /**
+         * The estimate the candidate was last placed in the heap with; guarded by the heap lock.
+         */
+        private long placedEstimate;
+
+        /**
+         * Constructs a new heap candidate.
+         *
+         * @param shortUrl The shortened URL.
+         * @param hashes   Its row hashes.
+         * @param estimate Its windowed estimate.
+         */
+        private Candidate(String shortUrl, long[] hashes, long estimate) {
+            this.shortUrl = shortUrl;
+            this.hashes = hashes;
+            this.estimate = new AtomicLong(estimate);
+            this.placedEstimate = estimate;
+        }
+
+        /**
+         * Raises the latest estimate, keeping the highest of concurrently recorded ones.
+         *
+         * @param newEstimate The estimate after a hit.
+         */
+        private void raise(long newEstimate) {
+            long current = estimate.get();
+            while (newEstimate > current && !estimate.compareAndSet(current, newEstimate)) {
+                current = estimate.get();
+            }
+        }
+    }
+}
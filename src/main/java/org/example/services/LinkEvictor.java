@@ -0,0 +1,369 @@
+package org.example.services;
+
+import org.example.events.RepositoryResizeEvent;
+import org.example.logging.EventLog;
+import org.example.models.LinkOutcome;
+import org.example.models.ShortLink;
+import org.example.repositories.LinksRepository;
+import org.example.repositories.LinksSnapshot;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the link store within its configured entry and memory budget.
+ * <p>
+ * Once the store exceeds either budget, an eviction pass is run by a background thread
+ * (see {@link #setEvictionTrigger(Runnable)}) while creations carry on. The pass walks a
+ * {@link LinksSnapshot} and first deletes links that can no longer be opened anyway: expired,
+ * past their click limit or disabled. If that is not enough to get back to {@link #TARGET_RATIO}
+ * of the budget, it evicts live links, least recently resolved first ({@code lru}) or closest to
+ * expiry first ({@code ttl}). Victims are chosen from a heap bounded by the number of links to
+ * free, so a pass allocates little even over millions of links.
+ * </p>
+ * <p>
+ * Evicting down to below the budget means passes run once per few percent of growth rather than
+ * on every creation. The creation path itself only compares two counters against the budget: if
+ * creations outpace eviction and the store reaches {@link #HARD_LIMIT_RATIO} of its budget, new
+ * links are rejected with an {@link OverloadedException} until eviction catches up, so a load
+ * spike degrades into shed creations instead of an out-of-memory error.
+ * </p>
+ * @author alvar91
+ * @version 1.0
+ */
+public class LinkEvictor {
+
+    /**
+     * Fraction of the budget an eviction pass brings the store down to.
+     */
+    static final double TARGET_RATIO = 0.9;
+
+    /**
+     * Fraction of the budget above which new links are rejected.
+     */
+    static final double HARD_LIMIT_RATIO = 1.1;
+
+    /**
+     * Order in which live links are evicted once no unavailable links are left.
+     */
+    enum Policy {
+
+        /**
+         * Least recently resolved links first.
+         */
+        LRU,
+
+        /**
+         * Links closest to expiry first.
+         */
+        TTL
+    }
+
+    /**
+     * The repository being kept within budget.
+     */
+    private final LinksRepository linksRepository;
+
+    /**
+     * Asynchronous log receiving an event for every evicted link.
+     */
+    private final EventLog eventLog;
+
+    /**
+     * Clock expiry is checked against.
+     */
+    private final ClockService clockService;
+
+    /**
+     * Maximum number of stored links.
+     */
+    private final long maxLinks;
+
+    /**
+     * Maximum estimated footprint of the stored links, in bytes.
+     */
+    private final long maxBytes;
+
+    /**
+     * Order in which live links are evicted.
+     */
+    private final Policy policy;
+
+    /**
+     * Retry-after hint given to rejected creations, in milliseconds.
+     */
+    private final long retryAfterMillis;
+
+    /**
+     * Ensures only one eviction pass runs at a time.
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * Asks a background thread for an eviction pass, or {@code null} to evict on the caller.
+     */
+    private volatile Runnable evictionTrigger;
+
+    /**
+     * Number of links evicted so far.
+     */
+    private final LongAdder evictedCount = new LongAdder();
+
+    /**
+     * Number of links rejected because the store was full.
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * Constructs a new {@code LinkEvictor} from the store settings in the configuration.
+     *
+     * @param linksRepository The repository to keep within budget.
+     * @param configService   The configuration providing the budget and the eviction policy.
+     * @param eventLog        The {@link EventLog} receiving eviction events.
+     * @param clockService    The clock expiry is checked against.
+     * @throws IllegalArgumentException If the eviction policy is neither {@code lru} nor {@code ttl}.
+     */
+    public LinkEvictor(LinksRepository linksRepository, ConfigService configService, EventLog eventLog,
+                       ClockService clockService) {
+        this.linksRepository = linksRepository;
+        this.eventLog = eventLog;
+        this.clockService = clockService;
+        this.maxLinks = configService.getStoreMaxLinks() > 0 ? configService.getStoreMaxLinks() : Long.MAX_VALUE;
+        this.maxBytes = configService.getStoreMaxMemoryMb() > 0
+                ? configService.getStoreMaxMemoryMb() * 1024L * 1024L
+                : Long.MAX_VALUE;
+        this.retryAfterMillis = configService.getAdmissionRetryAfterMillis();
+
+        switch (configService.getStoreEvictionPolicy().toLowerCase()) {
+            case "lru":
+                this.policy = Policy.LRU;
+                break;
+            case "ttl":
+                this.policy = Policy.TTL;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown eviction policy: " + configService.getStoreEvictionPolicy());
+        }
+    }
+
+    /**
+     * Hands eviction passes to a background thread.
+     * <p>
+     * The trigger is run by {@link #ensureCapacity()} whenever the store is over budget; it must
+     * not block, only wake a thread that then calls {@link #evictIfNeeded()}. Without a trigger,
+     * {@link #ensureCapacity()} runs the pass on the calling thread.
+     * </p>
+     *
+     * @param evictionTrigger The trigger, or {@code null} to evict on the creating thread again.
+     */
+    public void setEvictionTrigger(Runnable evictionTrigger) {
+        this.evictionTrigger = evictionTrigger;
+    }
+
+    /**
+     * Requests an eviction pass if the store is over budget, and rejects a new link if the store
+     * is so far over budget that eviction cannot keep up.
+     *
+     * @throws OverloadedException If the store is above its hard limit.
+     */
+    public void ensureCapacity() {
+        if (!isOverLimit(1.0)) {
+            return;
+        }
+
+        Runnable trigger = evictionTrigger;
+        if (trigger != null) {
+            trigger.run();
+        } else {
+            evictIfNeeded();
+        }
+
+        if (isOverLimit(HARD_LIMIT_RATIO)) {
+            rejectedCount.increment();
+            throw new OverloadedException("Link store is full", retryAfterMillis);
+        }
+    }
+
+    /**
+     * Runs an eviction pass if the store is over budget and no other pass is running.
+     *
+     * @return The number of links evicted by this call.
+     */
+    public int evictIfNeeded() {
+        if (!isOverLimit(1.0) || !evictionLock.tryLock()) {
+            return 0;
+        }
+
+        try {
+            return isOverLimit(1.0) ? evict() : 0;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of links evicted so far.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    /**
+     * Returns the number of new links rejected because the store was full.
+     *
+     * @return The rejection count.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Returns the maximum number of stored links.
+     *
+     * @return The link budget, or {@link Long#MAX_VALUE} if unlimited.
+     */
+    public long getMaxLinks() {
+        return maxLinks;
+    }
+
+    /**
+     * Returns the maximum estimated footprint of the stored links.
+     *
+     * @return The memory budget in bytes, or {@link Long#MAX_VALUE} if unlimited.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Checks whether the store exceeds a fraction of either budget.
+     *
+     * @param ratio The fraction of the budgets to compare against.
+     * @return {@code true} if the link count or the footprint is above {@code ratio} of its budget.
+     */
+    private boolean isOverLimit(double ratio) {
+        return linksRepository.size() > maxLinks * ratio || linksRepository.getUsedBytes() > maxBytes * ratio;
+    }
+
+    /**
+     * Evicts unavailable links, then live links in policy order, until the store is back at
+     * {@link #TARGET_RATIO} of its budget.
+     *
+     * @return The number of links evicted.
+     */
+    private int evict() {
+        long sizeBefore = linksRepository.size();
+        long now = clockService.currentTimeMillis();
+        long linksToFree = linksToFree();
+
+        Comparator<Victim> newestFirst = Comparator.comparingLong((Victim victim) -> victim.score).reversed();
+        PriorityQueue<Victim> victims = new PriorityQueue<>(newestFirst);
+
+        int evicted = 0;
+        try (LinksSnapshot snapshot = linksRepository.snapshot()) {
+            for (ShortLink link : snapshot) {
+                if (!link.isActive() || link.isExpired(now) || link.isLimitReached()) {
+                    evicted += evict(link);
+                    continue;
+                }
+
+                // Keep only the linksToFree best victims: a max-heap whose top is the first to give up
+                long score = policy == Policy.LRU ? link.getLastResolvedMillis() : link.getExpiresAtMillis();
+                if (victims.size() < linksToFree) {
+                    victims.add(new Victim(link, score));
+                } else if (!victims.isEmpty() && score < victims.peek().score) {
+                    victims.poll();
+                    victims.add(new Victim(link, score));
+                }
+            }
+        }
+
+        if (isOverLimit(TARGET_RATIO)) {
+            Victim[] ordered = victims.toArray(new Victim[0]);
+            Arrays.sort(ordered, newestFirst.reversed());
+            for (Victim victim : ordered) {
+                if (!isOverLimit(TARGET_RATIO)) {
+                    break;
+                }
+                evicted += evict(victim.link);
+            }
+        }
+
+        RepositoryResizeEvent event = new RepositoryResizeEvent();
+        if (event.shouldCommit()) {
+            event.kind = "EVICT";
+            event.sizeBefore = sizeBefore;
+            event.sizeAfter = linksRepository.size();
+            event.capacity = maxLinks;
+            event.commit();
+        }
+        return evicted;
+    }
+
+    /**
+     * Estimates how many links must be evicted to reach {@link #TARGET_RATIO} of both budgets.
+     *
+     * @return The number of links to free, based on the average link footprint.
+     */
+    private long linksToFree() {
+        long size = linksRepository.size();
+        long usedBytes = linksRepository.getUsedBytes();
+        if (size == 0) {
+            return 0;
+        }
+
+        long byCount = size - (long) (maxLinks * TARGET_RATIO);
+        long averageBytes = Math.max(1, usedBytes / size);
+        long byBytes = (usedBytes - (long) (maxBytes * TARGET_RATIO) + averageBytes - 1) / averageBytes;
+        return Math.max(0, Math.max(byCount, byBytes));
+    }
+
+    /**
+     * Disables and removes a single link, unless it was replaced or removed concurrently.
+     *
+     * @param link The link to evict.
+     * @return {@code 1} if the link was evicted, {@code 0} otherwise.
+     */
+    private int evict(ShortLink link) {
+        if (!linksRepository.remove(link)) {
+            return 0;
+        }
+
+        link.disableLink();
+        evictedCount.increment();
+        eventLog.emit(LinkOutcome.EVICTED, link.getShortenedUrl(), link.getClickCount());
+        return 1;
+    }
+
+    /**
+     * A live link considered for eviction, with the score it was ranked by when it was seen.
+     */
+    private static final class Victim {
+
+        /**
+         * The link.
+         */
+        private final ShortLink link;
+
+        /**
+         * Its last resolve time or expiry time; lower scores are evicted first.
+         */
+        private final long score;
+
+        /**
+         * Constructs a new eviction candidate.
+         *
+         * @param link  The link.
+         * @param score Its eviction score.
+         */
+        private Victim(ShortLink link, long score) {
+            this.link = link;
+            this.score = score;
+        }
+    }
+}
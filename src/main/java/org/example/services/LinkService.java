@@ -1,12 +1,20 @@
 package org.example.services;
 
+import org.example.events.ClicksConsumedEvent;
+import org.example.events.ExpirySweepEvent;
+import org.example.events.LinkCreatedEvent;
+import org.example.events.LinkResolvedEvent;
+import org.example.logging.EventLog;
+import org.example.models.HotLink;
+import org.example.models.LinkOutcome;
+import org.example.models.LinkRequest;
+import org.example.models.LinkResult;
 import org.example.models.ShortLink;
 import org.example.repositories.LinksRepository;
-import org.example.utils.UrlShortener;
 
-import java.awt.*;
-import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -22,8 +30,19 @@ import java.util.UUID;
  *   <li>Open the original URL from a shortened link while respecting activity, expiration, and click limits.</li>
  *   <li>Edit click limits and manage link ownership.</li>
  *   <li>Remove expired or inactive links from the repository.</li>
+ *   <li>Detect the most frequently opened links via {@link HotLinkTracker}.</li>
  * </ul>
  *
+ * <p>Methods report what happened through {@link LinkOutcome} values rather than printing,
+ * and every outcome is also emitted to a non-blocking {@link EventLog}. Creation, resolves,
+ * click consumption and expiry sweeps are additionally reported as JDK Flight Recorder events
+ * from the {@code org.example.events} package, which cost nothing while recording is off.</p>
+ *
+ * <p>Creation and resolves pass through an {@link AdmissionController}; when either is over its
+ * adaptive concurrency budget the request fails fast with an {@link OverloadedException}.
+ * A {@link LinkEvictor} keeps the store within its configured size; creation only checks the
+ * budget and leaves eviction passes to the {@link ExpirySweeper} thread.</p>
+ *
  * @author alvar91
  * @version 1.0
  */
@@ -39,15 +58,94 @@ public class LinkService {
      */
     private final ConfigService configService;
 
+    /**
+     * Tracker estimating which links are opened most often.
+     */
+    private final HotLinkTracker hotLinkTracker;
+
+    /**
+     * Asynchronous log receiving an event for every outcome.
+     */
+    private final EventLog eventLog;
+
+    /**
+     * Admission control for resolves and link creation.
+     */
+    private final AdmissionController admissionController;
+
+    /**
+     * Clock every expiry and time-to-live decision is based on.
+     */
+    private final ClockService clockService;
+
+    /**
+     * Keeps the repository within its configured entry and memory budget.
+     */
+    private final LinkEvictor linkEvictor;
+
+    /**
+     * Source of the codes of new links.
+     */
+    private final CodeGenerator codeGenerator;
+
     /**
      * Constructor to initialize the LinkService with a repository and a configuration service.
+     * Events are discarded and time is read from the system clock.
      *
      * @param repository    The {@link LinksRepository} instance to manage links.
      * @param configService The {@link ConfigService} instance to enforce configuration rules.
      */
     public LinkService(LinksRepository repository, ConfigService configService) {
+        this(repository, configService, EventLog.discarding());
+    }
+
+    /**
+     * Constructor to initialize the LinkService with a repository, a configuration service and an event log.
+     * Time is read from the system clock.
+     *
+     * @param repository    The {@link LinksRepository} instance to manage links.
+     * @param configService The {@link ConfigService} instance to enforce configuration rules.
+     * @param eventLog      The {@link EventLog} receiving link events.
+     */
+    public LinkService(LinksRepository repository, ConfigService configService, EventLog eventLog) {
+        this(repository, configService, eventLog, ClockService.SYSTEM);
+    }
+
+    /**
+     * Constructor to initialize the LinkService with a repository, a configuration service,
+     * an event log and a clock. New links get random codes.
+     *
+     * @param repository    The {@link LinksRepository} instance to manage links.
+     * @param configService The {@link ConfigService} instance to enforce configuration rules.
+     * @param eventLog      The {@link EventLog} receiving link events.
+     * @param clockService  The {@link ClockService} used for every expiry decision.
+     */
+    public LinkService(LinksRepository repository, ConfigService configService, EventLog eventLog,
+                       ClockService clockService) {
+        this(repository, configService, eventLog, clockService, CodeGenerator.RANDOM);
+    }
+
+    /**
+     * Constructor to initialize the LinkService with a repository, a configuration service,
+     * an event log, a clock and a code generator.
+     *
+     * @param repository    The {@link LinksRepository} instance to manage links.
+     * @param configService The {@link ConfigService} instance to enforce configuration rules.
+     * @param eventLog      The {@link EventLog} receiving link events.
+     * @param clockService  The {@link ClockService} used for every expiry decision.
+     * @param codeGenerator The {@link CodeGenerator} providing the codes of new links.
+     */
+    public LinkService(LinksRepository repository, ConfigService configService, EventLog eventLog,
+                       ClockService clockService, CodeGenerator codeGenerator) {
+        this.codeGenerator = codeGenerator;
         this.linksRepository = repository;
         this.configService = configService;
+        this.eventLog = eventLog;
+        this.clockService = clockService;
+        this.hotLinkTracker = new HotLinkTracker(configService.getHotLinksTopK(),
+                configService.getHotLinksWindowSeconds(), clockService);
+        this.admissionController = new AdmissionController(configService);
+        this.linkEvictor = new LinkEvictor(repository, configService, eventLog, clockService);
     }
 
     /**
@@ -58,16 +156,90 @@ public class LinkService {
      * @param clicksLimit  The maximum number of clicks allowed for the shortened link.
      * @param lifetimeHours The lifetime of the link in hours.
      * @return The created {@link ShortLink} object.
+     * @throws OverloadedException If link creation is over its admission budget, or the link
+     *                             store is full and eviction cannot keep up.
      */
     public ShortLink createShortLink(UUID userId, String originalUrl, int clicksLimit, int lifetimeHours) {
+        long admitted;
+        try {
+            admitted = admissionController.acquireWrite();
+        } catch (OverloadedException e) {
+            eventLog.emit(LinkOutcome.SHED, null, 0);
+            throw e;
+        }
+
+        try {
+            linkEvictor.ensureCapacity();
+            return create(userId, originalUrl, clicksLimit, lifetimeHours);
+        } catch (OverloadedException e) {
+            eventLog.emit(LinkOutcome.SHED, null, 0);
+            throw e;
+        } finally {
+            admissionController.releaseWrite(admitted);
+        }
+    }
+
+    /**
+     * Creates several shortened links, admitting each one separately.
+     * <p>
+     * Every creation takes its own write permit and feeds its own latency to the write limiter, so
+     * the limiter caps concurrent creations whether they arrive singly or in a batch. Failures are
+     * reported per request instead of being thrown: a creation that is not admitted, or that finds
+     * the store full, gets {@link LinkOutcome#SHED} and the batch carries on with the next one.
+     * </p>
+     *
+     * @param requests The links to create.
+     * @return One result per request, in order: {@link LinkOutcome#CREATED} with the new link, or
+     *         {@link LinkOutcome#SHED}.
+     */
+    public List<LinkResult> createShortLinks(List<LinkRequest> requests) {
+        List<LinkResult> results = new ArrayList<>(requests.size());
+        for (LinkRequest request : requests) {
+            try {
+                ShortLink shortLink = createShortLink(request.userId(), request.originalUrl(),
+                        request.clicksLimit(), request.lifetimeHours());
+                results.add(new LinkResult(LinkOutcome.CREATED, shortLink));
+            } catch (OverloadedException e) {
+                results.add(LinkResult.of(LinkOutcome.SHED));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Creates and stores a shortened link once admission control has admitted the request.
+     *
+     * @param userId        The ID of the user creating the shortened link.
+     * @param originalUrl   The original URL to be shortened.
+     * @param clicksLimit   The maximum number of clicks allowed for the shortened link.
+     * @param lifetimeHours The lifetime of the link in hours.
+     * @return The created {@link ShortLink} object.
+     */
+    private ShortLink create(UUID userId, String originalUrl, int clicksLimit, int lifetimeHours) {
+        LinkCreatedEvent event = new LinkCreatedEvent();
+        event.begin();
+
         int adjustedTtlHours = Math.min(lifetimeHours, configService.getMaxLifetimeHours());
         int adjustedMaxClicks = Math.max(clicksLimit, configService.getMinClicksLimit());
-        String generatedCode = UrlShortener.generate();
-        String generatedShortUrl = "http://clck.ru/" + generatedCode;
         long ttlInMillis = Duration.ofHours(adjustedTtlHours).toMillis();
+        long createdAtMillis = clockService.currentTimeMillis();
+
+        // Regenerate the code on the rare random collision instead of overwriting another user's link
+        String generatedShortUrl;
+        ShortLink shortLink;
+        do {
+            generatedShortUrl = "http://clck.ru/" + codeGenerator.next();
+            shortLink = new ShortLink(generatedShortUrl, originalUrl, userId, adjustedMaxClicks,
+                    createdAtMillis, ttlInMillis);
+        } while (!linksRepository.saveIfAbsent(shortLink));
+        eventLog.emit(LinkOutcome.CREATED, generatedShortUrl, adjustedMaxClicks);
 
-        ShortLink shortLink = new ShortLink(generatedShortUrl, originalUrl, userId, adjustedMaxClicks, ttlInMillis);
-        linksRepository.save(shortLink);
+        if (event.shouldCommit()) {
+            event.shortUrl = generatedShortUrl;
+            event.clickLimit = adjustedMaxClicks;
+            event.timeToLive = ttlInMillis;
+            event.commit();
+        }
 
         return shortLink;
     }
@@ -76,41 +248,108 @@ public class LinkService {
      * Opens the original URL for a given shortened URL.
      * <p>
      * If the link is expired, inactive, or exceeds the click limit, it is disabled and removed.
+     * Opening the link with its last remaining click also disables and removes it.
+     * Presenting the original URL to the user is left to the caller.
      * </p>
      *
      * @param shortUrl The shortened URL to open.
+     * @return The outcome, carrying the opened {@link ShortLink} on success.
+     * @throws OverloadedException If resolves are over their admission budget.
+     */
+    public LinkResult openLink(String shortUrl) {
+        long admitted;
+        try {
+            admitted = admissionController.acquireRead();
+        } catch (OverloadedException e) {
+            eventLog.emit(LinkOutcome.SHED, shortUrl, 0);
+            throw e;
+        }
+
+        try {
+            return resolve(shortUrl);
+        } finally {
+            admissionController.releaseRead(admitted);
+        }
+    }
+
+    /**
+     * Resolves a shortened URL once admission control has admitted the request.
+     *
+     * @param shortUrl The shortened URL to open.
+     * @return The outcome, carrying the opened {@link ShortLink} on success.
      */
-    public void openLink(String shortUrl) {
+    private LinkResult resolve(String shortUrl) {
+        LinkResolvedEvent event = new LinkResolvedEvent();
+        event.begin();
+
         ShortLink shortLink = linksRepository.find(shortUrl);
         if (shortLink == null) {
-            System.out.println("Link not found");
-            return;
+            eventLog.emit(LinkOutcome.NOT_FOUND, shortUrl, 0);
+            return resolved(event, shortUrl, LinkResult.of(LinkOutcome.NOT_FOUND));
         }
 
-        if (!shortLink.isActive() || shortLink.isExpired() || shortLink.isLimitReached()) {
-            System.out.println("The expiration date has passed, or the click limit has been reached");
+        long now = clockService.currentTimeMillis();
+        LinkOutcome unavailable = !shortLink.isActive() ? LinkOutcome.DISABLED
+                : shortLink.isExpired(now) ? LinkOutcome.EXPIRED
+                : null;
+
+        // Consume the click atomically, so concurrent opens cannot exceed the limit
+        int clickCount = unavailable == null ? shortLink.consumeClick() : -1;
+        if (clickCount < 0) {
+            unavailable = unavailable == null ? LinkOutcome.LIMIT_REACHED : unavailable;
             shortLink.disableLink();
-            linksRepository.remove(shortUrl);
-            System.out.println("The link has been deleted because it is unavailable");
-            return;
+            linksRepository.remove(shortLink);
+            eventLog.emit(unavailable, shortUrl, 0);
+            return resolved(event, shortUrl, LinkResult.of(unavailable));
         }
 
-        shortLink.incrementClicks();
-        try {
-            if (Desktop.isDesktopSupported()) {
-                Desktop.getDesktop().browse(URI.create(shortLink.getOriginalUrl()));
-            } else {
-                System.out.println("Open the link: " + shortLink.getOriginalUrl());
-            }
-        } catch (Exception e) {
-            System.out.println("Failed to open the link in the browser: " + e.getMessage());
-        }
+        recordClicksConsumed(shortLink, clickCount);
+        shortLink.markResolved(now);
+        hotLinkTracker.record(shortUrl);
 
-        if (shortLink.isLimitReached()) {
+        if (clickCount >= shortLink.getClickLimit()) {
             shortLink.disableLink();
-            System.out.println("The click limit has been reached. The link has been disabled");
-            linksRepository.remove(shortUrl);
-            System.out.println("The link has been deleted");
+            linksRepository.remove(shortLink);
+            eventLog.emit(LinkOutcome.OPENED_LAST_CLICK, shortUrl, clickCount);
+            return resolved(event, shortUrl, new LinkResult(LinkOutcome.OPENED_LAST_CLICK, shortLink));
+        }
+
+        eventLog.emit(LinkOutcome.OPENED, shortUrl, clickCount);
+        return resolved(event, shortUrl, new LinkResult(LinkOutcome.OPENED, shortLink));
+    }
+
+    /**
+     * Completes the flight recorder event of an open and passes its result through.
+     *
+     * @param event    The event started when the open began.
+     * @param shortUrl The shortened URL that was requested.
+     * @param result   The result of the open.
+     * @return The given {@code result}.
+     */
+    private static LinkResult resolved(LinkResolvedEvent event, String shortUrl, LinkResult result) {
+        if (event.shouldCommit()) {
+            event.shortUrl = shortUrl;
+            event.outcome = result.outcome().name();
+            event.hit = result.isOpened();
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Reports a consumed click to the flight recorder.
+     *
+     * @param shortLink  The link that was opened.
+     * @param clickCount The click count after this open.
+     */
+    private static void recordClicksConsumed(ShortLink shortLink, int clickCount) {
+        ClicksConsumedEvent event = new ClicksConsumedEvent();
+        if (event.shouldCommit()) {
+            event.shortUrl = shortLink.getShortenedUrl();
+            event.clicks = 1;
+            event.clickCount = clickCount;
+            event.clickLimit = shortLink.getClickLimit();
+            event.commit();
         }
     }
 
@@ -120,25 +359,26 @@ public class LinkService {
      * @param userId   The ID of the user requesting the change.
      * @param shortUrl The shortened URL whose limit is to be changed.
      * @param newLimit The new click limit.
-     * @return {@code true} if the limit was successfully updated; {@code false} otherwise.
+     * @return {@link LinkOutcome#LIMIT_CHANGED} with the updated link, or
+     *         {@link LinkOutcome#NOT_FOUND} / {@link LinkOutcome#NOT_OWNER}.
      */
-    public boolean editLimit(UUID userId, String shortUrl, int newLimit) {
+    public LinkResult editLimit(UUID userId, String shortUrl, int newLimit) {
         ShortLink shortLink = linksRepository.find(shortUrl);
         if (shortLink == null) {
-            System.out.println("The link was not found");
-            return false;
+            eventLog.emit(LinkOutcome.NOT_FOUND, shortUrl, 0);
+            return LinkResult.of(LinkOutcome.NOT_FOUND);
         }
 
         if (!shortLink.getUserId().equals(userId)) {
-            System.out.println("You are not the owner of this link");
-            return false;
+            eventLog.emit(LinkOutcome.NOT_OWNER, shortUrl, 0);
+            return LinkResult.of(LinkOutcome.NOT_OWNER);
         }
 
         int actualNewLimit = Math.max(newLimit, configService.getMinClicksLimit());
         shortLink.setClickLimit(actualNewLimit);
-        System.out.println("The click limit has been changed to: " + actualNewLimit);
+        eventLog.emit(LinkOutcome.LIMIT_CHANGED, shortUrl, actualNewLimit);
 
-        return true;
+        return new LinkResult(LinkOutcome.LIMIT_CHANGED, shortLink);
     }
 
     /**
@@ -146,31 +386,86 @@ public class LinkService {
      *
      * @param userId   The ID of the user requesting the removal.
      * @param shortUrl The shortened URL to be removed.
-     * @return {@code true} if the link was successfully removed; {@code false} otherwise.
+     * @return {@link LinkOutcome#REMOVED}, or {@link LinkOutcome#NOT_FOUND} / {@link LinkOutcome#NOT_OWNER}.
      */
-    public boolean removeLink(UUID userId, String shortUrl) {
+    public LinkOutcome removeLink(UUID userId, String shortUrl) {
         ShortLink shortLink = linksRepository.find(shortUrl);
         if (shortLink == null) {
-            System.out.println("The link was not found");
-            return false;
+            eventLog.emit(LinkOutcome.NOT_FOUND, shortUrl, 0);
+            return LinkOutcome.NOT_FOUND;
         }
 
         if (!shortLink.getUserId().equals(userId)) {
-            System.out.println("You are not the owner of this link");
-            return false;
+            eventLog.emit(LinkOutcome.NOT_OWNER, shortUrl, 0);
+            return LinkOutcome.NOT_OWNER;
         }
 
-        linksRepository.remove(shortUrl);
-        System.out.println("The link has been deleted");
+        // Another request may have removed the link since it was found
+        if (!linksRepository.remove(shortLink)) {
+            eventLog.emit(LinkOutcome.NOT_FOUND, shortUrl, 0);
+            return LinkOutcome.NOT_FOUND;
+        }
+        eventLog.emit(LinkOutcome.REMOVED, shortUrl, 0);
 
-        return true;
+        return LinkOutcome.REMOVED;
     }
 
     /**
      * Removes all expired links from the repository.
+     *
+     * @return The number of links removed.
+     */
+    public int removeExpiredLinks() {
+        ExpirySweepEvent event = new ExpirySweepEvent();
+        event.begin();
+
+        long scanned = linksRepository.size();
+        long now = clockService.currentTimeMillis();
+        int removed = linksRepository.removeIf(link -> link.isExpired(now));
+
+        eventLog.emit(LinkOutcome.EXPIRED_REMOVED, null, removed);
+
+        if (event.shouldCommit()) {
+            event.scanned = scanned;
+            event.removed = removed;
+            event.commit();
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the most frequently opened links within the configured hot link window.
+     *
+     * @return The hot links, heaviest first, with estimated hit counts and rates.
+     */
+    public List<HotLink> getHotLinks() {
+        return hotLinkTracker.getTopLinks();
+    }
+
+    /**
+     * Returns the admission controller guarding resolves and link creation, for reporting.
+     *
+     * @return The {@link AdmissionController}.
+     */
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Returns the evictor keeping the link store within its budget.
+     *
+     * @return The {@link LinkEvictor}.
+     */
+    public LinkEvictor getLinkEvictor() {
+        return linkEvictor;
+    }
+
+    /**
+     * Returns the clock this service bases expiry decisions on.
+     *
+     * @return The {@link ClockService}.
      */
-    public void removeExpiredLinks() {
-        linksRepository.findAll().values().removeIf(ShortLink::isExpired);
-        System.out.println("All expired links have been deleted");
+    public ClockService getClockService() {
+        return clockService;
     }
 }
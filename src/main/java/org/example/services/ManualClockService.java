@@ -0,0 +1,49 @@
+package org.example.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ClockService} that only moves when told to.
+ * <p>
+ * Lets stress runs and experiments exercise expiry and time-to-live behaviour
+ * instantly instead of waiting for links to age in real time.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class ManualClockService implements ClockService {
+
+    /**
+     * The current time in milliseconds since the epoch.
+     */
+    private final AtomicLong now;
+
+    /**
+     * Constructs a new {@code ManualClockService} starting at a given time.
+     *
+     * @param startMillis The initial time in milliseconds since the epoch.
+     */
+    public ManualClockService(long startMillis) {
+        this.now = new AtomicLong(startMillis);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now.get();
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param millis The number of milliseconds to advance by; must not be negative.
+     * @return The new time in milliseconds since the epoch.
+     * @throws IllegalArgumentException If {@code millis} is negative.
+     */
+    public long advance(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("A clock cannot move backwards");
+        }
+        return now.addAndGet(millis);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.services;
+
+/**
+ * Thrown when a request is shed by admission control because the service is over budget.
+ * <p>
+ * This is the service-level equivalent of an HTTP {@code 503 Service Unavailable} response:
+ * callers should report the failure and retry after {@link #getRetryAfterMillis()}.
+ * Instances are created once per limiter and carry no stack trace, so shedding a request
+ * costs no more than a failed CAS.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class OverloadedException extends RuntimeException {
+
+    /**
+     * Serialization version of this exception.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Suggested delay before retrying, in milliseconds.
+     */
+    private final long retryAfterMillis;
+
+    /**
+     * Constructs a new {@code OverloadedException} without a stack trace.
+     *
+     * @param message          The detail message.
+     * @param retryAfterMillis The suggested delay before retrying, in milliseconds.
+     */
+    public OverloadedException(String message, long retryAfterMillis) {
+        super(message, null, false, false);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Returns the suggested delay before retrying, the equivalent of a {@code Retry-After} header.
+     *
+     * @return The delay in milliseconds.
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,353 @@
+package org.example.services;
+
+import org.example.utils.UrlShortener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out codes from disjoint ranges leased through a shared, lock-protected file.
+ * <p>
+ * The lease file holds a single counter: the first number of the code space no instance has
+ * leased yet. Leasing a range takes an exclusive {@link FileLock} on the file, reads the counter,
+ * advances it by the lease size and forces it to disk, so every instance pointed at the same file
+ * gets ranges no other instance will ever get. Numbers are turned into codes with
+ * {@link UrlShortener#encode(long)}, which is a bijection, so codes never collide.
+ * </p>
+ * <p>
+ * Within a lease, {@link #next()} is a single atomic increment with no coordination at all.
+ * Once {@link #REFILL_THRESHOLD} of the current lease is used, the next range is leased
+ * asynchronously on a background thread, so callers only wait for the file if a lease runs out
+ * before the next one arrives. Codes left in a lease when the instance stops are never handed out.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class RangeLeaseCodeGenerator implements CodeGenerator {
+
+    /**
+     * Fraction of a lease after which the next lease is requested.
+     */
+    static final double REFILL_THRESHOLD = 0.5;
+
+    /**
+     * Serializes leasing within this JVM, where file locks cannot be stacked.
+     */
+    private static final Object LEASE_LOCK = new Object();
+
+    /**
+     * The lease file shared by all instances.
+     */
+    private final Path leaseFile;
+
+    /**
+     * The number of codes in each lease.
+     */
+    private final long leaseSize;
+
+    /**
+     * Background thread leasing the next range.
+     */
+    private final ExecutorService refiller;
+
+    /**
+     * The lease codes are currently taken from.
+     */
+    private volatile Lease current;
+
+    /**
+     * The next lease, requested in the background, or {@code null} if not requested yet.
+     */
+    private CompletableFuture<Lease> pending;
+
+    /**
+     * Number of ranges leased so far.
+     */
+    private final AtomicLong leaseCount = new AtomicLong();
+
+    /**
+     * Whether the lease file is private to this instance and deleted when it is closed.
+     */
+    private final boolean temporary;
+
+    /**
+     * Whether the generator was closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@code RangeLeaseCodeGenerator} and leases its first range.
+     *
+     * @param leaseFile The lease file shared by all instances; created if missing.
+     * @param leaseSize The number of codes in each lease; must be positive.
+     * @throws IllegalArgumentException If {@code leaseSize} is not positive.
+     * @throws IllegalStateException    If the first range cannot be leased.
+     */
+    public RangeLeaseCodeGenerator(Path leaseFile, long leaseSize) {
+        this(leaseFile, leaseSize, false);
+    }
+
+    /**
+     * Constructs a new {@code RangeLeaseCodeGenerator} and leases its first range.
+     *
+     * @param leaseFile The lease file; created if missing.
+     * @param leaseSize The number of codes in each lease; must be positive.
+     * @param temporary Whether the lease file is deleted when the generator is closed.
+     * @throws IllegalArgumentException If {@code leaseSize} is not positive.
+     * @throws IllegalStateException    If the first range cannot be leased.
+     */
+    private RangeLeaseCodeGenerator(Path leaseFile, long leaseSize, boolean temporary) {
+        if (leaseSize <= 0) {
+            throw new IllegalArgumentException("Code lease size must be positive");
+        }
+
+        this.leaseFile = leaseFile;
+        this.leaseSize = leaseSize;
+        this.temporary = temporary;
+        this.refiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "code-lease-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.current = lease();
+    }
+
+    /**
+     * Creates a generator leasing from a new temporary file of its own, deleted when it is closed.
+     * <p>
+     * Its codes start from zero again and collide with those of every other instance, so it only
+     * suits links that are thrown away, such as the startup warm-up, which then runs the same code
+     * as the real generator without using up the shared code space.
+     * </p>
+     *
+     * @param leaseSize The number of codes in each lease; must be positive.
+     * @return The new generator.
+     * @throws IllegalStateException If the temporary file cannot be created or leased from.
+     */
+    public static RangeLeaseCodeGenerator temporary(long leaseSize) {
+        try {
+            return new RangeLeaseCodeGenerator(Files.createTempFile("code-leases", ".tmp"), leaseSize, true);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create a temporary code lease file", e);
+        }
+    }
+
+    /**
+     * Returns the next code from the current lease, switching to the next lease when it runs out.
+     *
+     * @return A code no other instance sharing the lease file will return.
+     * @throws IllegalStateException If the generator is closed, a new range cannot be leased or the
+     *                               code space is exhausted.
+     */
+    @Override
+    public String next() {
+        if (closed) {
+            throw new IllegalStateException("Code generator is closed");
+        }
+
+        while (true) {
+            Lease lease = current;
+            long number = lease.cursor.getAndIncrement();
+            if (number < lease.end) {
+                if (number == lease.refillAt) {
+                    requestNextLease();
+                }
+                return UrlShortener.encode(number);
+            }
+            advance(lease);
+        }
+    }
+
+    /**
+     * Returns the number of ranges leased so far.
+     *
+     * @return The lease count.
+     */
+    public long getLeaseCount() {
+        return leaseCount.get();
+    }
+
+    /**
+     * Stops the background lease thread and deletes a temporary lease file. Later calls to
+     * {@link #next()} fail.
+     * <p>
+     * A lease already requested is still completed rather than cancelled, so a caller waiting for
+     * it is not left blocked on a future that would never complete.
+     * </p>
+     */
+    @Override
+    public void close() {
+        closed = true;
+        refiller.shutdown();
+        if (!temporary) {
+            return;
+        }
+
+        try {
+            // A refill still running would otherwise recreate the file after it is deleted
+            refiller.awaitTermination(1, TimeUnit.SECONDS);
+            Files.deleteIfExists(leaseFile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Only a file in the temporary directory is left behind
+        }
+    }
+
+    /**
+     * Starts leasing the next range in the background, unless that is already under way.
+     *
+     * @throws IllegalStateException If the generator is closed, so its lease thread no longer accepts work.
+     */
+    private synchronized void requestNextLease() {
+        if (closed) {
+            throw new IllegalStateException("Code generator is closed");
+        }
+        if (pending == null) {
+            try {
+                pending = CompletableFuture.supplyAsync(this::lease, refiller);
+            } catch (RejectedExecutionException e) {
+                // Closed after the check above
+                throw new IllegalStateException("Code generator is closed", e);
+            }
+        }
+    }
+
+    /**
+     * Replaces an exhausted lease with the next one, waiting for it if it has not arrived yet.
+     *
+     * @param exhausted The lease that ran out.
+     */
+    private synchronized void advance(Lease exhausted) {
+        if (current != exhausted) {
+            return;
+        }
+
+        requestNextLease();
+        try {
+            current = pending.join();
+        } catch (RuntimeException e) {
+            throw e.getCause() instanceof IllegalStateException
+                    ? (IllegalStateException) e.getCause()
+                    : new IllegalStateException("Failed to lease a code range", e);
+        } finally {
+            pending = null;
+        }
+    }
+
+    /**
+     * Leases the next range from the lease file.
+     *
+     * @return The new lease.
+     * @throws IllegalStateException If the lease file cannot be updated, is corrupt or the code space is exhausted.
+     */
+    private Lease lease() {
+        synchronized (LEASE_LOCK) {
+            try {
+                Path parent = leaseFile.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+
+                try (FileChannel channel = FileChannel.open(leaseFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+                        long start = readCounter(channel, buffer);
+                        if (start >= UrlShortener.CODE_SPACE) {
+                            throw new IllegalStateException("Short code space is exhausted");
+                        }
+
+                        long end = Math.min(start + leaseSize, UrlShortener.CODE_SPACE);
+                        buffer.clear().putLong(end).flip();
+                        channel.write(buffer, 0);
+                        channel.force(true);
+
+                        leaseCount.incrementAndGet();
+                        return new Lease(start, end);
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to lease a code range from: " + leaseFile, e);
+            }
+        }
+    }
+
+    /**
+     * Reads the counter from a locked lease file.
+     * <p>
+     * Only an empty file, one that no instance has leased from yet, counts as a counter of zero.
+     * A file that is shorter than a counter or holds a negative one was truncated or corrupted;
+     * starting over from zero would hand out ranges that were already leased, so it is rejected.
+     * </p>
+     *
+     * @param channel The locked lease file.
+     * @param buffer  A buffer of {@link Long#BYTES} bytes to read into.
+     * @return The first code number no instance has leased yet.
+     * @throws IOException           If the file cannot be read.
+     * @throws IllegalStateException If the file is truncated or corrupt.
+     */
+    private long readCounter(FileChannel channel, ByteBuffer buffer) throws IOException {
+        if (channel.size() == 0) {
+            return 0;
+        }
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                throw new IllegalStateException("Code lease file is truncated: " + leaseFile);
+            }
+        }
+
+        long counter = buffer.flip().getLong();
+        if (counter < 0) {
+            throw new IllegalStateException("Code lease file is corrupt: " + leaseFile);
+        }
+        return counter;
+    }
+
+    /**
+     * A leased range of code numbers.
+     */
+    private static final class Lease {
+
+        /**
+         * The next number to hand out.
+         */
+        private final AtomicLong cursor;
+
+        /**
+         * The first number after the range.
+         */
+        private final long end;
+
+        /**
+         * The number whose allocation triggers leasing the next range.
+         */
+        private final long refillAt;
+
+        /**
+         * Constructs a new lease.
+         *
+         * @param start The first number of the range.
+         * @param end   The first number after the range.
+         */
+        private Lease(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+            this.refillAt = start + (long) ((end - start) * REFILL_THRESHOLD);
+        }
+    }
+}
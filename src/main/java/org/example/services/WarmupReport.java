@@ -0,0 +1,28 @@
+package org.example.services;
+
+/**
+ * Totals reported at the end of the startup warm-up.
+ *
+ * @param hotLinks        The number of hot links read from the access summary.
+ * @param resolves        The number of synthetic resolves run.
+ * @param elapsedMillis   The wall-clock duration of the warm-up in milliseconds.
+ * @param budgetExhausted Whether the warm-up stopped because its time budget ran out.
+ * @param summaryError    Why the access summary could not be read, or {@code null} if it was read or did not exist.
+ * @author alvar91
+ * @version 1.0
+ */
+public record WarmupReport(int hotLinks, long resolves, long elapsedMillis, boolean budgetExhausted,
+                           String summaryError) {
+
+    /**
+     * Formats the report as printable text.
+     *
+     * @return A single-line report, preceded by a line on the access summary if it could not be read.
+     */
+    public String format() {
+        String report = String.format("Warm-up completed: %d resolves over %d hot links in %d ms%s%n",
+                resolves, hotLinks, elapsedMillis, budgetExhausted ? " (time budget exhausted)" : "");
+        return summaryError == null ? report : "Failed to read the access summary: " + summaryError
+                + System.lineSeparator() + report;
+    }
+}
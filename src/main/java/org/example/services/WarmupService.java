@@ -0,0 +1,211 @@
+package org.example.services;
+
+import org.example.logging.EventLog;
+import org.example.models.HotLink;
+import org.example.models.ShortLink;
+import org.example.repositories.LinksRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the service up before it starts accepting commands.
+ * <p>
+ * On shutdown, {@link #saveAccessSummary(List, LinksRepository)} writes the current hot links
+ * with their original URLs to the configured access summary file. On the next start,
+ * {@link #warmUp(ClockService, CodeGenerator, EventLog)} reads that summary and runs synthetic
+ * traffic shaped like it (creates, resolves, misses, edits, removals and sweeps) through a
+ * throwaway {@link LinkService} with its own repository.
+ * </p>
+ * <p>
+ * The throwaway service is built from the same clock as the real one, a code generator of the
+ * same kind and a live {@link EventLog} of the same kind as the real one that writes nowhere. The
+ * JIT therefore profiles and compiles the exact code the first real requests run, instead of code
+ * specialised for a different clock or a log that returns early and is thrown away on the first
+ * real request. The real store, event log and code leases are left untouched: with leased codes
+ * the caller passes a generator leasing from a temporary file, since a warm-up creates thousands
+ * of links.
+ * </p>
+ * <p>
+ * Failures are reported to the caller: an unreadable access summary in the {@link WarmupReport},
+ * a failed save as an {@link IOException}.
+ * </p>
+ * <p>
+ * Warm-up stops after the configured number of resolves or when its time budget runs out,
+ * whichever comes first, so startup time stays bounded.
+ * </p>
+ *
+ * <p><b>Summary format</b> (tab-separated, one hot link per line):</p>
+ * <pre>{@code
+ * http://clck.ru/AbC123	https://example.com/page	42
+ * }</pre>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class WarmupService {
+
+    /**
+     * Number of synthetic URLs used when there is no access summary.
+     */
+    private static final int DEFAULT_URL_COUNT = 16;
+
+    /**
+     * Number of resolves run against every synthetic link.
+     */
+    private static final int RESOLVES_PER_LINK = 8;
+
+    /**
+     * Click limit of the synthetic links, high enough that their resolves never use it up.
+     */
+    private static final int CLICKS_LIMIT = RESOLVES_PER_LINK * 2;
+
+    /**
+     * Number of warm-up rounds between two expiry sweeps.
+     */
+    private static final int ROUNDS_PER_SWEEP = 16;
+
+    /**
+     * Configuration service to retrieve application settings.
+     */
+    private final ConfigService configService;
+
+    /**
+     * Path of the access summary file.
+     */
+    private final Path summaryFile;
+
+    /**
+     * Constructs a new {@code WarmupService}.
+     *
+     * @param configService The configuration providing the warm-up budget and the summary file.
+     */
+    public WarmupService(ConfigService configService) {
+        this.configService = configService;
+        this.summaryFile = Path.of(configService.getAccessSummaryFile());
+    }
+
+    /**
+     * Runs synthetic traffic through a throwaway {@link LinkService} until the configured number
+     * of resolves or the time budget is reached.
+     *
+     * @param clockService  The clock of the real service.
+     * @param codeGenerator A code generator of the same kind as the real one whose codes may be thrown
+     *                      away; it is not closed.
+     * @param eventLog      A live event log of the same kind as the real one that writes nowhere;
+     *                      owned by the caller.
+     * @return The warm-up totals.
+     */
+    public WarmupReport warmUp(ClockService clockService, CodeGenerator codeGenerator, EventLog eventLog) {
+        long budgetMillis = configService.getWarmupBudgetMillis();
+        if (budgetMillis <= 0) {
+            return new WarmupReport(0, 0, 0, false, null);
+        }
+
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+
+        List<String> originalUrls = new ArrayList<>();
+        String summaryError = null;
+        try {
+            loadAccessSummary(originalUrls);
+        } catch (IOException e) {
+            summaryError = e.getMessage();
+        }
+        int hotLinks = originalUrls.size();
+        if (originalUrls.isEmpty()) {
+            for (int i = 0; i < DEFAULT_URL_COUNT; i++) {
+                originalUrls.add("https://example.com/warmup/" + i);
+            }
+        }
+
+        LinkService linkService = new LinkService(new LinksRepository(), configService, eventLog, clockService,
+                codeGenerator);
+        UUID owner = UUID.randomUUID();
+        long targetResolves = configService.getWarmupResolves();
+        long resolves = 0;
+        int rounds = 0;
+
+        while (resolves < targetResolves && System.nanoTime() < deadline) {
+            // Every synthetic link goes through its whole lifecycle: creation, resolves, a miss, an edit and a removal
+            for (String originalUrl : originalUrls) {
+                try {
+                    String shortUrl = linkService.createShortLink(owner, originalUrl, CLICKS_LIMIT, 1).getShortenedUrl();
+                    for (int i = 0; i < RESOLVES_PER_LINK; i++) {
+                        linkService.openLink(shortUrl);
+                    }
+                    linkService.openLink(shortUrl + "-");
+                    resolves += RESOLVES_PER_LINK + 1;
+                    linkService.editLimit(owner, shortUrl, CLICKS_LIMIT * 2);
+                    linkService.removeLink(owner, shortUrl);
+                } catch (OverloadedException e) {
+                    // The throwaway service backs off like the real one; warm-up just carries on
+                }
+            }
+            if (++rounds % ROUNDS_PER_SWEEP == 0) {
+                linkService.removeExpiredLinks();
+            }
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return new WarmupReport(hotLinks, resolves, elapsedMillis, resolves < targetResolves, summaryError);
+    }
+
+    /**
+     * Writes the hot links that are still stored, with their original URLs, to the access summary file.
+     * <p>
+     * The file is replaced atomically, so a crash while saving leaves the previous summary intact.
+     * </p>
+     *
+     * @param hotLinks        The current hot links, heaviest first.
+     * @param linksRepository The repository to look up their original URLs in.
+     * @throws IOException If the summary cannot be written; the previous one is then kept.
+     */
+    public void saveAccessSummary(List<HotLink> hotLinks, LinksRepository linksRepository) throws IOException {
+        Path parent = summaryFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, summaryFile.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (HotLink hotLink : hotLinks) {
+                    ShortLink link = linksRepository.find(hotLink.shortUrl());
+                    if (link != null) {
+                        writer.write(hotLink.shortUrl() + '\t' + link.getOriginalUrl() + '\t' + hotLink.estimatedHits());
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(temporary, summaryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads the original URLs of the hot links from the access summary file.
+     *
+     * @param originalUrls The list to add the original URLs to, heaviest first; left empty if there is no summary.
+     * @throws IOException If the summary exists but cannot be read.
+     */
+    private void loadAccessSummary(List<String> originalUrls) throws IOException {
+        try {
+            for (String line : Files.readAllLines(summaryFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length == 3 && !fields[1].isEmpty()) {
+                    originalUrls.add(fields[1]);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // First start: warm up with synthetic URLs
+        }
+    }
+}
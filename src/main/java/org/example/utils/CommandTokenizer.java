@@ -0,0 +1,55 @@
+package org.example.utils;
+
+import java.util.Arrays;
+
+/**
+ * Utility class for splitting command lines into whitespace-separated tokens.
+ * <p>
+ * Scans the line character by character instead of using a regular expression,
+ * which keeps tokenizing cheap when thousands of scripted commands are processed.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class CommandTokenizer {
+
+    /**
+     * Initial capacity of the token array; commands have at most four tokens.
+     */
+    private static final int INITIAL_TOKENS = 4;
+
+    /**
+     * Splits a line on runs of whitespace, ignoring leading and trailing whitespace.
+     *
+     * @param line The line to split.
+     * @return The tokens of the line; empty if the line is blank.
+     */
+    public static String[] tokenize(String line) {
+        String[] tokens = new String[INITIAL_TOKENS];
+        int count = 0;
+
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+
+            int start = i;
+            while (i < length && !Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+
+            if (count == tokens.length) {
+                tokens = Arrays.copyOf(tokens, count * 2);
+            }
+            tokens[count++] = line.substring(start, i);
+        }
+
+        return count == tokens.length ? tokens : Arrays.copyOf(tokens, count);
+    }
+}
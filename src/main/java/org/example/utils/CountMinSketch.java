@@ -0,0 +1,199 @@
+package org.example.utils;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, thread-safe count-min sketch for estimating key frequencies.
+ * <p>
+ * The sketch stores {@code depth} rows of {@code width} counters. Each key is mapped to one
+ * counter per row, and its frequency is estimated as the minimum over those counters. Estimates
+ * never undercount (apart from counts dropped by a concurrent {@link #clear()}), and may
+ * overcount by roughly {@code total / width} with high probability.
+ * </p>
+ * <p>
+ * Each row hashes the characters of the key with its own seed, derived from a seed chosen at
+ * random when the class is loaded, so the rows are independent: keys that collide in one row,
+ * including keys with equal {@link String#hashCode()}, are unlikely to collide in the others, and
+ * colliding keys cannot be precomputed offline. All sketches in a JVM share the seeds, so counts
+ * of the same key in several sketches can be combined row by row.
+ * </p>
+ * <p>
+ * Counters live in a single {@link AtomicLongArray}, so increments are lock-free and the memory
+ * footprint is fixed at construction time regardless of how many distinct keys are counted.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+public class CountMinSketch {
+
+    /**
+     * The seed all row seeds are derived from.
+     */
+    private static final long SEED = new SplittableRandom().nextLong();
+
+    /**
+     * The number of rows (independent hash functions).
+     */
+    private final int depth;
+
+    /**
+     * The number of counters per row (always a power of two).
+     */
+    private final int width;
+
+    /**
+     * Bit mask used to map a hash onto a column, equal to {@code width - 1}.
+     */
+    private final int mask;
+
+    /**
+     * The counters, stored row by row.
+     */
+    private final AtomicLongArray counters;
+
+    /**
+     * Constructs a new, empty {@code CountMinSketch}.
+     *
+     * @param depth The number of rows; must be positive.
+     * @param width The number of counters per row; rounded up to the next power of two.
+     * @throws IllegalArgumentException If {@code depth} or {@code width} is not positive.
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive");
+        }
+
+        this.depth = depth;
+        this.width = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    /**
+     * Computes the hash of a key for one row of the sketch.
+     * <p>
+     * Callers that touch several sketches with the same key can compute the row hashes once
+     * and pass them to {@link #increment(int, long)} and {@link #rowCount(int, long)}.
+     * </p>
+     *
+     * @param row The row index.
+     * @param key The key to hash.
+     * @return A well-mixed 64-bit hash of the key, independent of the hashes of the other rows.
+     */
+    public static long hash(int row, String key) {
+        long h = mix(SEED + (row + 1) * 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0xD6E8FEB86659FD93L;
+            h ^= h >>> 32;
+        }
+        return mix(h ^ key.length());
+    }
+
+    /**
+     * Increments the counters of a key by one.
+     *
+     * @param key The key to count.
+     */
+    public void increment(String key) {
+        for (int row = 0; row < depth; row++) {
+            increment(row, hash(row, key));
+        }
+    }
+
+    /**
+     * Increments the counter addressed by a precomputed row hash by one.
+     *
+     * @param row  The row index, between {@code 0} and {@link #getDepth()} exclusive.
+     * @param hash The hash returned by {@link #hash(int, String)} for the same row.
+     */
+    public void increment(int row, long hash) {
+        counters.incrementAndGet(offset(row, hash));
+    }
+
+    /**
+     * Estimates how many times a key has been counted.
+     *
+     * @param key The key to estimate.
+     * @return The estimated count (never lower than the true count).
+     */
+    public long estimate(String key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, rowCount(row, hash(row, key)));
+        }
+        return min;
+    }
+
+    /**
+     * Returns the counter addressed by a row hash.
+     * <p>
+     * Useful for combining several sketches: summing row counts across sketches before taking
+     * the minimum gives a tighter estimate than summing per-sketch estimates.
+     * </p>
+     *
+     * @param row  The row index, between {@code 0} and {@link #getDepth()} exclusive.
+     * @param hash The hash returned by {@link #hash(int, String)} for the same row.
+     * @return The counter value.
+     */
+    public long rowCount(int row, long hash) {
+        return counters.get(offset(row, hash));
+    }
+
+    /**
+     * Resets all counters to zero.
+     * <p>
+     * Increments that race with this call may be partially lost, which only ever lowers estimates.
+     * </p>
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    /**
+     * Returns the number of rows in this sketch.
+     *
+     * @return The sketch depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of counters per row.
+     *
+     * @return The sketch width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Computes the array offset of a key's counter in a row.
+     *
+     * @param row  The row index.
+     * @param hash The row hash of the key.
+     * @return The offset into {@link #counters}.
+     */
+    private int offset(int row, long hash) {
+        return row * width + ((int) hash & mask);
+    }
+
+    /**
+     * Finalizes a hash so that every input bit affects every output bit (the MurmurHash3 64-bit finalizer).
+     *
+     * @param h The value to mix.
+     * @return The mixed value.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
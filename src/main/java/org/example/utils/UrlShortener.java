@@ -11,6 +11,8 @@ import java.util.Random;
  * <p><b>Key Features:</b></p>
  * <ul>
  *   <li>Generates a random 6-character alphanumeric string.</li>
+ *   <li>Encodes a number from the code space into a unique 6-character string, for
+ *       collision-free allocation from leased ranges.</li>
  *   <li>Uses a predefined set of base characters (letters and digits) for generation.</li>
  * </ul>
  *
@@ -34,6 +36,16 @@ public class UrlShortener {
      */
     private static final int LENGTH = 6;
 
+    /**
+     * The number of distinct codes: 62 to the power of {@link #LENGTH}.
+     */
+    public static final long CODE_SPACE = 56_800_235_584L;
+
+    /**
+     * Multiplier scrambling sequential numbers; coprime with {@link #CODE_SPACE}, so the mapping is a bijection.
+     */
+    private static final long SCRAMBLE_MULTIPLIER = 91_673_119L;
+
     /**
      * Generates a random 6-character string to be used as a shortened URL key.
      * <p>
@@ -55,4 +67,30 @@ public class UrlShortener {
         // Return the generated shortened URL key as a string
         return shortKey.toString();
     }
+
+    /**
+     * Encodes a number from the code space as a 6-character string.
+     * <p>
+     * Distinct numbers always give distinct codes. The number is scrambled first, so consecutive
+     * numbers give codes that do not look consecutive.
+     * </p>
+     *
+     * @param value A number from {@code 0} (inclusive) to {@link #CODE_SPACE} (exclusive).
+     * @return The 6-character code.
+     * @throws IllegalArgumentException If the number is outside the code space.
+     */
+    public static String encode(long value) {
+        if (value < 0 || value >= CODE_SPACE) {
+            throw new IllegalArgumentException("Code number out of range: " + value);
+        }
+
+        // (CODE_SPACE - 1) * SCRAMBLE_MULTIPLIER still fits in a long
+        long scrambled = value * SCRAMBLE_MULTIPLIER % CODE_SPACE;
+        char[] code = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            code[i] = BASE_CHARS.charAt((int) (scrambled % BASE_CHARS.length()));
+            scrambled /= BASE_CHARS.length();
+        }
+        return new String(code);
+    }
 }
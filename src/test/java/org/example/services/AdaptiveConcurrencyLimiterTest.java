@@ -0,0 +1,55 @@
+package org.example.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link AdaptiveConcurrencyLimiter}.
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    /**
+     * Checks that one cold request followed by fast ones does not cut the limit.
+     */
+    @Test
+    void coldFirstSampleKeepsTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 64, 5_000);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(300_000_000L);
+        for (int i = 0; i < 10; i++) {
+            // Let the cool-down between decreases pass
+            Thread.sleep(6);
+            assertTrue(limiter.tryAcquire());
+            limiter.release(100_000L);
+        }
+
+        assertEquals(64, limiter.getLimit());
+    }
+
+    /**
+     * Checks that latencies far above both the target and the minimum still cut the limit.
+     */
+    @Test
+    void sustainedQueueingCutsTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 64, 5_000);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(100_000L);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(50_000_000L);
+            // Let the cool-down between decreases pass
+            Thread.sleep(6);
+        }
+
+        assertTrue(limiter.getLimit() < 64);
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.services;
+
+import org.example.logging.EventLog;
+import org.example.models.LinkOutcome;
+import org.example.models.LinkRequest;
+import org.example.models.LinkResult;
+import org.example.repositories.LinksRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link AsyncLinkService}.
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+class AsyncLinkServiceTest {
+
+    /**
+     * The configuration shared by the services.
+     */
+    private final ConfigService configService = new ConfigService();
+
+    /**
+     * The synchronous service under the facade.
+     */
+    private final LinkService linkService =
+            new LinkService(new LinksRepository(), configService, EventLog.discarding());
+
+    /**
+     * Checks that creates mixed with edits and removals are executed and completed in submission order.
+     */
+    @Test
+    void writesCompleteInSubmissionOrder() {
+        UUID owner = UUID.randomUUID();
+        String shortUrl = linkService.createShortLink(owner, "https://example.com/existing", 10, 1).getShortenedUrl();
+        List<Integer> completionOrder = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<LinkResult>> futures = new ArrayList<>();
+
+        try (AsyncLinkService async = new AsyncLinkService(linkService, configService)) {
+            // Each completion is recorded when its write finishes, on the batching thread
+            track(async.create(new LinkRequest(owner, "https://example.com/a", 10, 1)), futures, completionOrder);
+            track(async.editLimit(owner, shortUrl, 50), futures, completionOrder);
+            track(async.create(new LinkRequest(owner, "https://example.com/b", 10, 1)), futures, completionOrder);
+            track(async.remove(owner, shortUrl).thenApply(LinkResult::of), futures, completionOrder);
+            track(async.editLimit(owner, shortUrl, 60), futures, completionOrder);
+
+            List<LinkOutcome> outcomes = new ArrayList<>();
+            for (CompletableFuture<LinkResult> future : futures) {
+                outcomes.add(future.join().outcome());
+            }
+
+            assertEquals(List.of(LinkOutcome.CREATED, LinkOutcome.LIMIT_CHANGED, LinkOutcome.CREATED,
+                    LinkOutcome.REMOVED, LinkOutcome.NOT_FOUND), outcomes);
+            assertEquals(List.of(0, 1, 2, 3, 4), completionOrder);
+        }
+    }
+
+    /**
+     * Checks that writes submitted while the queue is full are shed at once and queued ones still run.
+     */
+    @Test
+    void writesAreShedWhenTheQueueIsFull() throws InterruptedException {
+        UUID owner = UUID.randomUUID();
+        BlockingLinkService blocking = new BlockingLinkService();
+        String shortUrl = blocking.createShortLink(owner, "https://example.com/existing", 10, 1).getShortenedUrl();
+
+        try (AsyncLinkService async = new AsyncLinkService(blocking, 2, 1, 0)) {
+            CompletableFuture<LinkResult> running = async.editLimit(owner, shortUrl, 20);
+            blocking.entered.acquire();
+
+            CompletableFuture<LinkResult> first = async.create(new LinkRequest(owner, "https://example.com/a", 10, 1));
+            CompletableFuture<LinkResult> second = async.create(new LinkRequest(owner, "https://example.com/b", 10, 1));
+            CompletableFuture<LinkResult> shed = async.create(new LinkRequest(owner, "https://example.com/c", 10, 1));
+
+            assertTrue(shed.isDone());
+            assertEquals(LinkOutcome.SHED, shed.join().outcome());
+            assertFalse(first.isDone());
+
+            blocking.release.release();
+            assertEquals(LinkOutcome.LIMIT_CHANGED, running.join().outcome());
+            assertEquals(LinkOutcome.CREATED, first.join().outcome());
+            assertEquals(LinkOutcome.CREATED, second.join().outcome());
+        }
+    }
+
+    /**
+     * Checks that closing the service executes every write queued before the close and sheds later ones.
+     */
+    @Test
+    void closeDrainsQueuedWrites() throws InterruptedException {
+        UUID owner = UUID.randomUUID();
+        BlockingLinkService blocking = new BlockingLinkService();
+        String shortUrl = blocking.createShortLink(owner, "https://example.com/existing", 10, 1).getShortenedUrl();
+
+        AsyncLinkService async = new AsyncLinkService(blocking, 64, 4, 0);
+        CompletableFuture<LinkResult> running = async.editLimit(owner, shortUrl, 20);
+        blocking.entered.acquire();
+
+        List<CompletableFuture<LinkResult>> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            queued.add(async.create(new LinkRequest(owner, "https://example.com/" + i, 10, 1)));
+        }
+
+        // close() stops accepting writes and then waits for the batcher, which is still blocked
+        Thread closer = new Thread(async::close);
+        closer.start();
+        while (closer.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        assertEquals(LinkOutcome.SHED, async.create(new LinkRequest(owner, "https://example.com/late", 10, 1))
+                .join().outcome());
+
+        blocking.release.release();
+        closer.join();
+
+        assertEquals(LinkOutcome.LIMIT_CHANGED, running.join().outcome());
+        for (CompletableFuture<LinkResult> future : queued) {
+            assertTrue(future.isDone());
+            assertEquals(LinkOutcome.CREATED, future.join().outcome());
+        }
+    }
+
+    /**
+     * Adds a future to a list and records its index in completion order once it completes.
+     *
+     * @param future          The future of a queued write.
+     * @param futures         The futures queued so far.
+     * @param completionOrder The indexes of the futures, in the order they completed.
+     */
+    private static void track(CompletableFuture<LinkResult> future, List<CompletableFuture<LinkResult>> futures,
+                              List<Integer> completionOrder) {
+        int index = futures.size();
+        futures.add(future.whenComplete((result, error) -> completionOrder.add(index)));
+    }
+
+    /**
+     * A {@link LinkService} whose edits hold the batching thread until the test releases them.
+     */
+    private final class BlockingLinkService extends LinkService {
+
+        /**
+         * Released once an edit has started.
+         */
+        private final Semaphore entered = new Semaphore(0);
+
+        /**
+         * Released by the test to let the edit finish.
+         */
+        private final Semaphore release = new Semaphore(0);
+
+        /**
+         * Constructs a new {@code BlockingLinkService} over an empty repository.
+         */
+        private BlockingLinkService() {
+            super(new LinksRepository(), configService, EventLog.discarding());
+        }
+
+        @Override
+        public LinkResult editLimit(UUID userId, String shortUrl, int newLimit) {
+            entered.release();
+            // Uninterruptibly, so the interrupt sent by close() does not end the wait early
+            release.acquireUninterruptibly();
+            return super.editLimit(userId, shortUrl, newLimit);
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package org.example.services;
+
+import org.example.logging.EventLog;
+import org.example.models.LinkOutcome;
+import org.example.models.LinkResult;
+import org.example.models.ShortLink;
+import org.example.repositories.LinksRepository;
+import org.example.repositories.LinksSnapshot;
+import org.example.repositories.UsersRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Multithreaded stress and linearizability test for the link store.
+ * <p>
+ * Runs many threads of mixed create, open, edit, remove, expiry sweep, snapshot read and user
+ * registration operations against a shared {@link LinkService}, records the history of every
+ * operation with its outcome and real-time interval, and then checks the history and the final
+ * store state against the service's invariants:
+ * </p>
+ * <ul>
+ *   <li>A link is never opened more often than the highest click limit it ever had, and its
+ *       click count equals the number of successful opens (no lost or phantom clicks).</li>
+ *   <li>A link is removed at most once, and at most one open consumes its last click.</li>
+ *   <li>Once a link has been removed (by its owner or because it became unavailable), every
+ *       operation starting afterwards sees it as not found, and it is absent from the store.</li>
+ *   <li>No link is lost: a link that was never removed is still stored, unless it has expired.</li>
+ *   <li>A snapshot reads the same links every time it is walked, however the store changes.</li>
+ *   <li>Every registered user can be found.</li>
+ * </ul>
+ * <p>
+ * Time is driven by a {@link ManualClockService} that workers advance by up to
+ * {@link #MAX_CLOCK_STEP_MILLIS} at random, so links expire within a run of a few seconds.
+ * Each thread draws its operations from its own seeded {@link Random} and targets a link pool
+ * created up front on a single thread, so runs are reproducible apart from thread interleaving,
+ * which the invariants do not depend on. The test fails with the list of violations if any
+ * invariant does not hold.
+ * </p>
+ *
+ * @author alvar91
+ * @version 1.0
+ */
+class LinkStoreStressTest {
+
+    /**
+     * Maximum number of violations printed.
+     */
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    /**
+     * The number of worker threads.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * The number of operations each thread performs.
+     */
+    private static final int OPS_PER_THREAD = 20_000;
+
+    /**
+     * The number of links created before the workers start.
+     */
+    private static final int POOL_SIZE = 256;
+
+    /**
+     * The seed all per-thread random generators derive from.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Largest step a worker advances the clock by, in milliseconds.
+     */
+    private static final long MAX_CLOCK_STEP_MILLIS = 10 * 60 * 1000;
+
+    /**
+     * Kinds of operations the harness performs.
+     */
+    enum OpType {
+        CREATE, OPEN, EDIT, REMOVE, EXPIRE, SNAPSHOT, REGISTER, ADVANCE_CLOCK
+    }
+
+    /**
+     * A completed operation in the recorded history.
+     *
+     * @param type       The kind of operation.
+     * @param shortUrl   The link the operation targeted, or {@code null}.
+     * @param outcome    The outcome returned by the service, or {@code null} if it returns none.
+     * @param value      The click limit set by a create or requested by an edit, the number of links
+     *                   seen by a snapshot, or {@code 0}.
+     * @param startNanos {@link System#nanoTime()} when the operation was invoked.
+     * @param endNanos   {@link System#nanoTime()} when the operation returned.
+     */
+    record Op(OpType type, String shortUrl, LinkOutcome outcome, int value, long startNanos, long endNanos) {
+    }
+
+    /**
+     * The repository under test.
+     */
+    private final LinksRepository linksRepository = new LinksRepository();
+
+    /**
+     * The user repository under test.
+     */
+    private final UsersRepository usersRepository = new UsersRepository();
+
+    /**
+     * The configuration shared by the services.
+     */
+    private final ConfigService configService = new ConfigService();
+
+    /**
+     * The clock driving link expiry.
+     */
+    private final ManualClockService clockService = new ManualClockService(System.currentTimeMillis());
+
+    /**
+     * The link service under test.
+     */
+    private final LinkService linkService =
+            new LinkService(linksRepository, configService, EventLog.discarding(), clockService);
+
+    /**
+     * The user service under test.
+     */
+    private final UserService userService = new UserService(usersRepository);
+
+    /**
+     * Every link created during the run, by shortened URL.
+     */
+    private final Map<String, ShortLink> createdLinks = new HashMap<>();
+
+    /**
+     * The click limit every link was created with, by shortened URL.
+     */
+    private final Map<String, Integer> initialLimits = new HashMap<>();
+
+    /**
+     * Links created before the workers start, targeted by all threads.
+     */
+    private final List<ShortLink> pool = new ArrayList<>();
+
+    /**
+     * Runs the workload, prints a report and checks that every invariant holds.
+     *
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    @Test
+    void invariantsHoldUnderConcurrentLoad() throws InterruptedException {
+        Random setupRandom = new Random(SEED);
+        UUID[] owners = new UUID[Math.max(1, THREADS)];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = userService.createUserId();
+        }
+        for (int i = 0; i < POOL_SIZE; i++) {
+            UUID owner = owners[setupRandom.nextInt(owners.length)];
+            ShortLink link = linkService.createShortLink(owner, "https://example.com/pool/" + i,
+                    configService.getMinClicksLimit() + setupRandom.nextInt(20), configService.getMaxLifetimeHours());
+            pool.add(link);
+            createdLinks.put(link.getShortenedUrl(), link);
+            initialLimits.put(link.getShortenedUrl(), link.getClickLimit());
+        }
+
+        List<List<Op>> histories = new ArrayList<>();
+        List<List<ShortLink>> createdPerThread = new ArrayList<>();
+        List<List<UUID>> registeredPerThread = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            List<Op> history = new ArrayList<>(OPS_PER_THREAD);
+            List<ShortLink> created = new ArrayList<>();
+            List<UUID> registered = new ArrayList<>();
+            histories.add(history);
+            createdPerThread.add(created);
+            registeredPerThread.add(registered);
+
+            Random random = new Random(SEED * 31 + t);
+            UUID self = owners[t % owners.length];
+            workers[t] = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    history.add(step(random, self, owners, created, registered));
+                }
+            }, "stress-worker-" + t);
+            workers[t].start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        for (List<ShortLink> created : createdPerThread) {
+            for (ShortLink link : created) {
+                createdLinks.put(link.getShortenedUrl(), link);
+            }
+        }
+
+        List<String> violations = check(histories, registeredPerThread);
+        report(histories, violations, elapsedMillis);
+        assertTrue(violations.isEmpty(), () -> violations.size() + " invariant violations, first: "
+                + violations.subList(0, Math.min(violations.size(), MAX_REPORTED_VIOLATIONS)));
+    }
+
+    /**
+     * Performs one randomly chosen operation and records it.
+     *
+     * @param random     The thread's random generator.
+     * @param self       The user this thread acts as.
+     * @param owners     All users owning pool links.
+     * @param created    Links created by this thread so far.
+     * @param registered Users registered by this thread so far.
+     * @return The recorded operation.
+     */
+    private Op step(Random random, UUID self, UUID[] owners, List<ShortLink> created, List<UUID> registered) {
+        int dice = random.nextInt(100);
+        ShortLink target = !created.isEmpty() && random.nextInt(4) == 0
+                ? created.get(random.nextInt(created.size()))
+                : pool.isEmpty() ? null : pool.get(random.nextInt(pool.size()));
+        UUID actor = random.nextInt(5) == 0 ? owners[random.nextInt(owners.length)] : null;
+
+        OpType type = dice < 10 || target == null ? OpType.CREATE
+                : dice < 75 ? OpType.OPEN
+                : dice < 88 ? OpType.EDIT
+                : dice < 95 ? OpType.REMOVE
+                : dice < 96 ? OpType.EXPIRE
+                : dice < 97 ? OpType.SNAPSHOT
+                : dice < 98 ? OpType.ADVANCE_CLOCK
+                : OpType.REGISTER;
+        String shortUrl = type == OpType.CREATE ? null : target.getShortenedUrl();
+        UUID user = actor != null || target == null ? actor : target.getUserId();
+
+        long startNanos = System.nanoTime();
+        try {
+            switch (type) {
+                case CREATE: {
+                    ShortLink link = linkService.createShortLink(self, "https://example.com/" + random.nextInt(),
+                            random.nextInt(20), random.nextInt(48));
+                    created.add(link);
+                    return new Op(type, link.getShortenedUrl(), LinkOutcome.CREATED, link.getClickLimit(),
+                            startNanos, System.nanoTime());
+                }
+                case OPEN: {
+                    LinkResult result = linkService.openLink(shortUrl);
+                    return new Op(type, shortUrl, result.outcome(), 0, startNanos, System.nanoTime());
+                }
+                case EDIT: {
+                    int newLimit = random.nextInt(40);
+                    LinkResult result = linkService.editLimit(user, shortUrl, newLimit);
+                    int applied = Math.max(newLimit, configService.getMinClicksLimit());
+                    return new Op(type, shortUrl, result.outcome(), applied, startNanos, System.nanoTime());
+                }
+                case REMOVE: {
+                    LinkOutcome outcome = linkService.removeLink(user, shortUrl);
+                    return new Op(type, shortUrl, outcome, 0, startNanos, System.nanoTime());
+                }
+                case EXPIRE: {
+                    linkService.removeExpiredLinks();
+                    return new Op(type, null, LinkOutcome.EXPIRED_REMOVED, 0, startNanos, System.nanoTime());
+                }
+                case SNAPSHOT: {
+                    int seen = readSnapshot();
+                    return new Op(type, null, seen < 0 ? LinkOutcome.NOT_FOUND : null, Math.max(seen, 0),
+                            startNanos, System.nanoTime());
+                }
+                case ADVANCE_CLOCK: {
+                    clockService.advance(random.nextLong(MAX_CLOCK_STEP_MILLIS));
+                    return new Op(type, null, null, 0, startNanos, System.nanoTime());
+                }
+                default: {
+                    registered.add(userService.createUserId());
+                    return new Op(type, null, null, 0, startNanos, System.nanoTime());
+                }
+            }
+        } catch (OverloadedException e) {
+            return new Op(type, shortUrl, LinkOutcome.SHED, 0, startNanos, System.nanoTime());
+        }
+    }
+
+    /**
+     * Walks a snapshot twice while other threads keep writing and checks that it does not change.
+     *
+     * @return The number of links in the snapshot, or {@code -1} if the two walks disagree.
+     */
+    private int readSnapshot() {
+        try (LinksSnapshot snapshot = linksRepository.snapshot()) {
+            Map<String, ShortLink> first = new HashMap<>();
+            for (ShortLink link : snapshot) {
+                first.put(link.getShortenedUrl(), link);
+            }
+
+            int second = 0;
+            for (ShortLink link : snapshot) {
+                if (first.get(link.getShortenedUrl()) != link || snapshot.find(link.getShortenedUrl()) != link) {
+                    return -1;
+                }
+                second++;
+            }
+            return second == first.size() ? second : -1;
+        }
+    }
+
+    /**
+     * Checks the recorded histories and the final store state against the invariants.
+     *
+     * @param histories  The operations recorded by each thread.
+     * @param registered The users registered by each thread.
+     * @return A description of every violation found.
+     */
+    private List<String> check(List<List<Op>> histories, List<List<UUID>> registered) {
+        List<String> violations = new ArrayList<>();
+
+        Map<String, List<Op>> byLink = new HashMap<>();
+        for (List<Op> history : histories) {
+            for (Op op : history) {
+                if (op.shortUrl() != null && op.outcome() != LinkOutcome.SHED) {
+                    byLink.computeIfAbsent(op.shortUrl(), k -> new ArrayList<>()).add(op);
+                }
+            }
+        }
+
+        for (Map.Entry<String, ShortLink> entry : createdLinks.entrySet()) {
+            String shortUrl = entry.getKey();
+            ShortLink link = entry.getValue();
+            List<Op> ops = byLink.getOrDefault(shortUrl, List.of());
+
+            int opens = 0;
+            int lastClicks = 0;
+            int removals = 0;
+            int maxLimit = initialLimits.getOrDefault(shortUrl, 0);
+            long terminalEnd = Long.MAX_VALUE;
+            for (Op op : ops) {
+                LinkOutcome outcome = op.outcome();
+                if (outcome == LinkOutcome.OPENED || outcome == LinkOutcome.OPENED_LAST_CLICK) {
+                    opens++;
+                }
+                if (outcome == LinkOutcome.OPENED_LAST_CLICK) {
+                    lastClicks++;
+                }
+                if (outcome == LinkOutcome.REMOVED) {
+                    removals++;
+                }
+                if (outcome == LinkOutcome.CREATED || outcome == LinkOutcome.LIMIT_CHANGED) {
+                    maxLimit = Math.max(maxLimit, op.value());
+                }
+                if (isTerminal(outcome)) {
+                    terminalEnd = Math.min(terminalEnd, op.endNanos());
+                }
+            }
+
+            if (opens > maxLimit) {
+                violations.add(shortUrl + ": opened " + opens + " times with a click limit of at most " + maxLimit);
+            }
+            if (link.getClickCount() != opens) {
+                violations.add(shortUrl + ": click count " + link.getClickCount() + " but " + opens + " successful opens");
+            }
+            if (lastClicks > 1) {
+                violations.add(shortUrl + ": last click consumed " + lastClicks + " times");
+            }
+            if (removals > 1) {
+                violations.add(shortUrl + ": removed " + removals + " times");
+            }
+
+            for (Op op : ops) {
+                if (op.startNanos() > terminalEnd && op.outcome() != LinkOutcome.NOT_FOUND) {
+                    violations.add(shortUrl + ": " + op.type() + " returned " + op.outcome() + " after the link was removed");
+                }
+            }
+
+            ShortLink stored = linksRepository.find(shortUrl);
+            if (terminalEnd != Long.MAX_VALUE && stored == link) {
+                violations.add(shortUrl + ": still stored after it was removed");
+            } else if (terminalEnd == Long.MAX_VALUE && stored != link && !link.isExpired(clockService.currentTimeMillis())) {
+                violations.add(shortUrl + ": lost although it was never removed");
+            }
+        }
+
+        for (List<Op> history : histories) {
+            for (Op op : history) {
+                if (op.type() == OpType.SNAPSHOT && op.outcome() == LinkOutcome.NOT_FOUND) {
+                    violations.add("snapshot: changed while it was being read");
+                }
+            }
+        }
+
+        for (List<UUID> users : registered) {
+            for (UUID user : users) {
+                if (!userService.isUserExist(user)) {
+                    violations.add("user " + user + ": lost after registration");
+                }
+            }
+        }
+
+        return violations;
+    }
+
+    /**
+     * Checks whether an outcome means the link has been removed from the store.
+     *
+     * @param outcome The outcome of an operation on the link.
+     * @return {@code true} if the link no longer exists after the operation.
+     */
+    private static boolean isTerminal(LinkOutcome outcome) {
+        return outcome == LinkOutcome.REMOVED
+                || outcome == LinkOutcome.OPENED_LAST_CLICK
+                || outcome == LinkOutcome.LIMIT_REACHED
+                || outcome == LinkOutcome.EXPIRED
+                || outcome == LinkOutcome.DISABLED;
+    }
+
+    /**
+     * Prints operation counts by type and outcome, followed by the violations.
+     *
+     * @param histories     The operations recorded by each thread.
+     * @param violations    The violations found.
+     * @param elapsedMillis The duration of the workload in milliseconds.
+     */
+    private void report(List<List<Op>> histories, List<String> violations, long elapsedMillis) {
+        Map<OpType, Map<String, Integer>> counts = new EnumMap<>(OpType.class);
+        long total = 0;
+        for (List<Op> history : histories) {
+            for (Op op : history) {
+                String outcome = op.outcome() == null ? "OK" : op.outcome().name();
+                counts.computeIfAbsent(op.type(), k -> new HashMap<>()).merge(outcome, 1, Integer::sum);
+                total++;
+            }
+        }
+
+        System.out.printf("%d operations on %d threads in %d ms (seed %d)%n", total, THREADS, elapsedMillis, SEED);
+        counts.forEach((type, outcomes) -> System.out.println("  " + type + ": " + outcomes));
+
+        if (violations.isEmpty()) {
+            System.out.println("All invariants hold");
+            return;
+        }
+
+        System.out.println(violations.size() + " invariant violations:");
+        violations.stream().limit(MAX_REPORTED_VIOLATIONS).forEach(v -> System.out.println("  " + v));
+    }
+
+    /**
+     * Waits for a latch, restoring the interrupt flag if interrupted.
+     *
+     * @param latch The latch to wait for.
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}